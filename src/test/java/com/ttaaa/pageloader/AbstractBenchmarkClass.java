@@ -0,0 +1,58 @@
+package com.ttaaa.pageloader;
+
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.List;
+
+/**
+ * Base of the benchmarks of the waiting strategies on the fixture pages
+ * recording the ground truth in {@code window.__startedAt} and
+ * {@code window.__loadedAt}.
+ */
+public abstract class AbstractBenchmarkClass extends AbstractTestClass {
+    static final int RUNS = Integer.getInteger("benchmark.runs", 20);
+
+    /**
+     * Method to measure the time between the true end of loading and
+     * the end of waiting, which is assumed to be right before the call.
+     * The round trip of the measuring script is compensated by taking
+     * the page time in the middle of it.
+     *
+     * @return the detection latency in milliseconds, negative if the
+     * page was loaded after the end of waiting, or NaN if it has not
+     * been loaded yet
+     */
+    double measureDetectionLatency() {
+        long waitEnd = System.nanoTime();
+        List<?> times = (List<?>) ((JavascriptExecutor) driver).executeScript(
+                "return [performance.now(), window.__loadedAt || null];"
+        );
+        long measureEnd = System.nanoTime();
+
+        if (times.get(1) == null) return Double.NaN;
+
+        double pageNow = ((Number) times.get(0)).doubleValue();
+        double loadedAt = ((Number) times.get(1)).doubleValue();
+        double roundTrip = (measureEnd - waitEnd) / 1_000_000.0;
+
+        return pageNow - roundTrip / 2 - loadedAt;
+    }
+
+    /**
+     * Method to measure the true duration of loading, from its start to
+     * its end as recorded by the fixture page
+     *
+     * @return the loading duration in milliseconds, or NaN if the page
+     * has not been loaded yet
+     */
+    double measureLoadDuration() {
+        List<?> times = (List<?>) ((JavascriptExecutor) driver).executeScript(
+                "return [window.__startedAt || null, window.__loadedAt || null];"
+        );
+
+        if (times.contains(null)) return Double.NaN;
+
+        return ((Number) times.get(1)).doubleValue()
+                - ((Number) times.get(0)).doubleValue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ttaaa.pageloader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distribution of measured values, used to report the benchmarks of the
+ * waiting strategies.
+ */
+public class Distribution {
+    private final List<Double> values = new ArrayList<>();
+    private boolean isSorted = true;
+
+    /**
+     * Method to add a measured value to the distribution
+     *
+     * @param value measured value
+     */
+    public void add(double value) {
+        values.add(value);
+        isSorted = false;
+    }
+
+    /**
+     * @return number of the measured values
+     */
+    public int count() {
+        return values.size();
+    }
+
+    /**
+     * @return mean of the measured values, or NaN if there are none
+     */
+    public double mean() {
+        return values.stream()
+                .mapToDouble(Double::doubleValue)
+                .average()
+                .orElse(Double.NaN);
+    }
+
+    /**
+     * Method to get a percentile of the measured values by the nearest
+     * rank method
+     *
+     * @param percentile percentile from 0 to 100
+     * @return the percentile, or NaN if there are no measured values
+     */
+    public double percentile(double percentile) {
+        if (values.isEmpty()) return Double.NaN;
+
+        if (!isSorted) {
+            values.sort(Double::compare);
+            isSorted = true;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100 * values.size());
+        return values.get(Math.min(values.size() - 1, Math.max(0, rank - 1)));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "n=%d mean=%.1f min=%.1f p50=%.1f p90=%.1f p99=%.1f max=%.1f",
+                count(),
+                mean(),
+                percentile(0),
+                percentile(50),
+                percentile(90),
+                percentile(99),
+                percentile(100)
+        );
+    }
+}
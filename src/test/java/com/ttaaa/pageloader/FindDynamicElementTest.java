@@ -3,6 +3,10 @@ package com.ttaaa.pageloader;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,4 +45,79 @@ public class FindDynamicElementTest extends AbstractTestClass {
                 )
         );
     }
+
+    @Test
+    public void checkFindDynamicElementsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        Map<By, WebElement> elements = pageLoader.findDynamicElements(
+                List.of(By.id("start_button"), By.id("loaded_text"))
+        );
+        assertEquals(2, elements.size());
+        assertTrue(elements.get(By.id("loaded_text")).isDisplayed());
+    }
+
+    @Test
+    public void checkFindAnyDynamicElementsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        Map<By, WebElement> elements = pageLoader.findDynamicElements(
+                List.of(By.id("loading_text_0"), By.id("loaded_text")),
+                1,
+                500
+        );
+        assertEquals(1, elements.size());
+        assertTrue(elements.containsKey(By.id("loading_text_0")));
+    }
+
+    @Test
+    public void checkNegativeFindDynamicElementsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.findDynamicElements(
+                        List.of(By.id("start_button"), By.id("loaded_text")),
+                        500
+                )
+        );
+    }
+
+    @Test
+    public void checkFindDynamicElementsMethodWithDuplicates() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        Map<By, WebElement> elements = pageLoader.findDynamicElements(
+                List.of(By.id("start_button"), By.id("start_button")),
+                500
+        );
+        assertEquals(1, elements.size());
+    }
+
+    @Test
+    public void checkNegativeRequiredCountOfFindDynamicElementsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> pageLoader.findDynamicElements(
+                        List.of(By.id("start_button")),
+                        0,
+                        500
+                )
+        );
+    }
+
+    @Test
+    public void checkFindDynamicElementsMethodWithoutIdentifiers() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        assertEquals(Map.of(), pageLoader.findDynamicElements(List.of()));
+    }
 }
@@ -0,0 +1,123 @@
+package com.ttaaa.pageloader;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest extends AbstractTestClass {
+
+    @Test
+    public void checkWaitEventsAreRecorded() throws IOException {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        ArrayList<By> identifiersList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            identifiersList.add(By.id("loading_text_" + i));
+        }
+
+        List<RecordedEvent> events = record(() ->
+                pageLoader.waitByLoadersStatus(identifiersList));
+
+        RecordedEvent wait = events.stream()
+                .filter(it -> it.getEventType().getName()
+                        .equals("com.ttaaa.pageloader.Wait"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("waitByLoadersStatus", wait.getString("strategy"));
+        assertEquals("loaded", wait.getString("outcome"));
+
+        assertTrue(events.stream().anyMatch(it ->
+                it.getEventType().getName()
+                        .equals("com.ttaaa.pageloader.Probe")
+                        && it.getString("probe").equals("loadersHidden")
+                        && it.getLong("requestSize") > 0));
+        assertTrue(events.stream().anyMatch(it ->
+                it.getEventType().getName()
+                        .equals("com.ttaaa.pageloader.Sleep")));
+    }
+
+    @Test
+    public void checkTimeoutOutcomeIsRecorded() throws IOException {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        List<RecordedEvent> events = record(() -> assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.waitByLoadersStatus(
+                        List.of(By.id("loading_text_0")),
+                        500
+                )
+        ));
+
+        assertTrue(events.stream().anyMatch(it ->
+                it.getEventType().getName()
+                        .equals("com.ttaaa.pageloader.Wait")
+                        && it.getString("outcome").equals("timeout")));
+    }
+
+    @Test
+    public void checkErrorOutcomeIsRecorded() throws IOException {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        List<RecordedEvent> events = record(() -> assertThrows(
+                AssertionError.class,
+                () -> pageLoader.loadInTabs(
+                        List.of("http://localhost:8080/PageLoader/SimpleMethodTest.html"),
+                        4000,
+                        100,
+                        (handle, loadingTime) -> {
+                            throw new AssertionError();
+                        }
+                )
+        ));
+
+        assertTrue(events.stream().anyMatch(it ->
+                it.getEventType().getName()
+                        .equals("com.ttaaa.pageloader.Wait")
+                        && it.getString("outcome").equals("AssertionError")));
+    }
+
+    /**
+     * Method to record the events of the page loader while running an
+     * action
+     *
+     * @param action action to record
+     * @return the recorded events of the page loader
+     */
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = Files.createTempFile("page-loader", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("com.ttaaa.pageloader.Wait");
+            recording.enable("com.ttaaa.pageloader.Probe");
+            recording.enable("com.ttaaa.pageloader.Sleep");
+            recording.start();
+
+            action.run();
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(it -> it.getEventType().getName()
+                            .startsWith("com.ttaaa.pageloader."))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
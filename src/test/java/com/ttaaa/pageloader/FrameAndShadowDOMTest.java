@@ -0,0 +1,65 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameAndShadowDOMTest extends AbstractTestClass {
+
+    @Test
+    public void checkWaitByLoadersStatusMethod() {
+        driver.get("http://localhost:8080/PageLoader/FrameMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        ArrayList<By> identifiersList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            identifiersList.add(By.id("loading_text_" + i));
+        }
+
+        assertDoesNotThrow(() ->
+                pageLoader.waitByLoadersStatus(identifiersList));
+        assertTrue(pageLoader.findDynamicElement(By.id("loaded_text_shadow"))
+                .isDisplayed());
+    }
+
+    @Test
+    public void checkNegativeWaitByLoadersStatusMethod() {
+        driver.get("http://localhost:8080/PageLoader/FrameMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.waitByLoadersStatus(
+                        List.of(By.id("loading_text_1")),
+                        500
+                )
+        );
+    }
+
+    @Test
+    public void checkImprovedWaitByDOMSizeMethod() {
+        driver.get("http://localhost:8080/PageLoader/FrameMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertDoesNotThrow(() ->
+                pageLoader.waitByImprovedDOMSize(By.id("frame")));
+    }
+
+    @Test
+    public void checkWaitByAssetsReadinessMethodWithFrameScope() {
+        driver.get("http://localhost:8080/PageLoader/FrameMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertDoesNotThrow(() ->
+                pageLoader.waitByAssetsReadiness(By.id("loaded_text_frame")));
+    }
+}
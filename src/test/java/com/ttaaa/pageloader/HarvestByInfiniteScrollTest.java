@@ -0,0 +1,49 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HarvestByInfiniteScrollTest extends AbstractTestClass {
+
+    @Test
+    public void checkHarvestByInfiniteScrollMethod() {
+        driver.get("http://localhost:8080/PageLoader/FeedMethodTest.html");
+
+        ScrollHarvestResult result = pageLoader.harvestByInfiniteScroll(
+                By.id("feed"),
+                By.id("end_of_feed")
+        );
+
+        assertTrue(result.isEndOfFeed());
+        assertEquals(50, result.getItems());
+        assertTrue(result.getItemsPerSecond() > 0);
+    }
+
+    @Test
+    public void checkHarvestByInfiniteScrollMethodWithoutEndMarker() {
+        driver.get("http://localhost:8080/PageLoader/FeedMethodTest.html");
+
+        ScrollHarvestResult result =
+                pageLoader.harvestByInfiniteScroll(By.id("feed"));
+
+        assertTrue(result.isEndOfFeed());
+        assertEquals(50, result.getItems());
+    }
+
+    @Test
+    public void checkHarvestByInfiniteScrollMethodBudget() {
+        driver.get("http://localhost:8080/PageLoader/FeedMethodTest.html");
+
+        ScrollHarvestResult result = pageLoader.harvestByInfiniteScroll(
+                By.id("feed"),
+                By.id("end_of_feed"),
+                20,
+                Long.MAX_VALUE
+        );
+
+        assertFalse(result.isEndOfFeed());
+        assertEquals(20, result.getItems());
+    }
+}
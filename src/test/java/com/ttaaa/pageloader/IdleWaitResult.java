@@ -0,0 +1,58 @@
+package com.ttaaa.pageloader;
+
+/**
+ * Result of waiting for the main thread of a web page to become idle.
+ */
+public class IdleWaitResult {
+    private final long waitingTime;
+    private final long longTasksTime;
+    private final int longTasksCount;
+
+    /**
+     * Default constructor for {@link IdleWaitResult}.
+     *
+     * @param waitingTime    time spent waiting in milliseconds
+     * @param longTasksTime  total duration of the long tasks observed
+     *                       while waiting in milliseconds
+     * @param longTasksCount number of the long tasks observed while
+     *                       waiting
+     */
+    public IdleWaitResult(
+            long waitingTime,
+            long longTasksTime,
+            int longTasksCount
+    ) {
+        this.waitingTime = waitingTime;
+        this.longTasksTime = longTasksTime;
+        this.longTasksCount = longTasksCount;
+    }
+
+    /**
+     * @return time spent waiting in milliseconds
+     */
+    public long getWaitingTime() {
+        return waitingTime;
+    }
+
+    /**
+     * @return total duration of the long tasks observed while waiting
+     * in milliseconds
+     */
+    public long getLongTasksTime() {
+        return longTasksTime;
+    }
+
+    /**
+     * @return number of the long tasks observed while waiting
+     */
+    public int getLongTasksCount() {
+        return longTasksCount;
+    }
+
+    @Override
+    public String toString() {
+        return "IdleWaitResult{waitingTime=" + waitingTime
+                + ", longTasksTime=" + longTasksTime
+                + ", longTasksCount=" + longTasksCount + "}";
+    }
+}
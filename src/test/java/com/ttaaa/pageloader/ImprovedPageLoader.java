@@ -1,16 +1,28 @@
 package com.ttaaa.pageloader;
 
 import org.openqa.selenium.*;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 public class ImprovedPageLoader {
     private final WebDriver driver;
+    private final ProbeListener probeListener;
+    private final SessionProbeCoordinator coordinator;
 
     /**
      * Default constructor for {@link ImprovedPageLoader}.
@@ -18,7 +30,25 @@ public class ImprovedPageLoader {
      * @param driver {@link WebDriver} to implement browser actions
      */
     public ImprovedPageLoader(WebDriver driver) {
+        this(driver, null);
+    }
+
+    /**
+     * Constructor for {@link ImprovedPageLoader} reporting every round
+     * trip to the browser.
+     *
+     * @param driver        {@link WebDriver} to implement browser
+     *                      actions
+     * @param probeListener {@link ProbeListener} to report the round
+     *                      trips to, or null
+     */
+    public ImprovedPageLoader(
+            WebDriver driver,
+            ProbeListener probeListener
+    ) {
         this.driver = driver;
+        this.probeListener = probeListener;
+        this.coordinator = SessionProbeCoordinator.of(driver);
     }
 
     /**
@@ -46,10 +76,196 @@ public class ImprovedPageLoader {
     public WebElement findDynamicElement(
             By identifier,
             long thresholdTime
+    ) {
+        return recordWait("findDynamicElement", thresholdTime, () ->
+                doFindDynamicElement(identifier, thresholdTime));
+    }
+
+    /**
+     * Method of the wait of {@link #findDynamicElement(By, long)}
+     * without recording it
+     */
+    private WebElement doFindDynamicElement(
+            By identifier,
+            long thresholdTime
     ) {
         return (new WebDriverWait(driver, thresholdTime))
                 .until((ExpectedCondition<WebElement>) driver ->
-                        driver.findElement(identifier));
+                        getElement(identifier));
+    }
+
+    /**
+     * Generic method for waiting for several web page dynamic elements
+     * to load
+     * <ul>
+     *     <li>The maximum waiting time is equal to the default value
+     *     {@value MAX_THRESHOLD_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     *     <li>All the web elements must be found.</li>
+     * </ul>
+     *
+     * @param identifiers {@link By} identifiers of the web elements to
+     *                    load
+     * @return the found {@link WebElement}s by their identifiers
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<By, WebElement> findDynamicElements(
+            Collection<By> identifiers
+    ) {
+        return findDynamicElements(
+                identifiers,
+                (int) identifiers.stream().distinct().count(),
+                MAX_THRESHOLD_TIME,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Generic method for waiting for several web page dynamic elements
+     * to load
+     * <ul>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     *     <li>All the web elements must be found.</li>
+     * </ul>
+     *
+     * @param identifiers   {@link By} identifiers of the web elements
+     *                      to load
+     * @param thresholdTime max waiting time in milliseconds
+     * @return the found {@link WebElement}s by their identifiers
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<By, WebElement> findDynamicElements(
+            Collection<By> identifiers,
+            long thresholdTime
+    ) {
+        return findDynamicElements(
+                identifiers,
+                (int) identifiers.stream().distinct().count(),
+                thresholdTime,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Generic method for waiting for several web page dynamic elements
+     * to load
+     * <ul>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param identifiers   {@link By} identifiers of the web elements
+     *                      to load
+     * @param requiredCount how many of the distinct web elements must
+     *                      be found, at least 1
+     * @param thresholdTime max waiting time in milliseconds
+     * @return the found {@link WebElement}s by their identifiers
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<By, WebElement> findDynamicElements(
+            Collection<By> identifiers,
+            int requiredCount,
+            long thresholdTime
+    ) {
+        return findDynamicElements(
+                identifiers,
+                requiredCount,
+                thresholdTime,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Generic method for waiting for several web page dynamic elements
+     * to load. All the identifiers are looked up in a single round trip
+     * per check, so the waiting time is that of the slowest element.
+     * Duplicate identifiers are looked up once, and no identifiers
+     * result in an empty map.
+     *
+     * @param identifiers         {@link By} identifiers of the web
+     *                            elements to load
+     * @param requiredCount       how many of the distinct web elements
+     *                            must be found, at least 1
+     * @param thresholdTime       max waiting time in milliseconds
+     * @param repeatedWaitingTime time between rechecks
+     * @return the found {@link WebElement}s by their identifiers
+     * @throws TimeoutException         if waiting time exceeded
+     *                                  thresholdTime
+     * @throws IllegalArgumentException if identifiers are given and
+     *                                  requiredCount is less than 1 or
+     *                                  exceeds the number of distinct
+     *                                  identifiers
+     */
+    public Map<By, WebElement> findDynamicElements(
+            Collection<By> identifiers,
+            int requiredCount,
+            long thresholdTime,
+            long repeatedWaitingTime
+    ) {
+        return recordWait("findDynamicElements", thresholdTime, () ->
+                doFindDynamicElements(
+                        identifiers,
+                        requiredCount,
+                        thresholdTime,
+                        repeatedWaitingTime
+                ));
+    }
+
+    /**
+     * Method of the wait of
+     * {@link #findDynamicElements(Collection, int, long, long)}
+     * without recording it
+     */
+    private Map<By, WebElement> doFindDynamicElements(
+            Collection<By> identifiers,
+            int requiredCount,
+            long thresholdTime,
+            long repeatedWaitingTime
+    ) {
+        List<By> identifiersList = identifiers.stream()
+                .distinct()
+                .toList();
+
+        if (identifiersList.isEmpty()) return Map.of();
+
+        if (requiredCount < 1
+                || requiredCount > identifiersList.size()) {
+            throw new IllegalArgumentException(
+                    "Required count " + requiredCount
+                            + " is not between 1 and the number of"
+                            + " distinct identifiers "
+                            + identifiersList.size() + "!"
+            );
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        while (true) {
+            List<WebElement> elements = getElements(identifiersList);
+            Map<By, WebElement> found = new LinkedHashMap<>();
+            for (int i = 0; i < identifiersList.size(); i++) {
+                if (elements.get(i) != null) {
+                    found.put(identifiersList.get(i), elements.get(i));
+                }
+            }
+
+            if (found.size() >= requiredCount) return found;
+
+            long currentTime = System.currentTimeMillis();
+            if (currentTime - startTime >= thresholdTime) break;
+
+            long waitingTime = Math.min(repeatedWaitingTime,
+                    startTime + thresholdTime - currentTime + 1);
+
+            sleep(waitingTime);
+        }
+
+        throw new TimeoutException(
+                "Elements were not loaded in the specified time "
+                        + thresholdTime + "!"
+        );
     }
 
     /**
@@ -130,31 +346,40 @@ public class ImprovedPageLoader {
             List<By> loadersIdentifiers,
             long thresholdTime,
             long waitingTime
+    ) {
+        recordWait("waitByLoadersStatus", thresholdTime, () ->
+                doWaitByLoadersStatus(
+                        loadersIdentifiers,
+                        thresholdTime,
+                        waitingTime
+                ));
+    }
+
+    /**
+     * Method of the wait of {@link #waitByLoadersStatus(List, long, long)}
+     * without recording it
+     */
+    private void doWaitByLoadersStatus(
+            List<By> loadersIdentifiers,
+            long thresholdTime,
+            long waitingTime
     ) {
         if (loadersIdentifiers.isEmpty()) return;
 
         long startTime = System.currentTimeMillis();
 
         while (System.currentTimeMillis() - startTime < thresholdTime) {
-            if (loadersIdentifiers.stream()
-                    .map(this::getElement)
-                    .allMatch(it -> it == null || !it.isDisplayed()))
-                return;
+            if (areLoadersHidden(loadersIdentifiers)) return;
 
             long currentTime = System.currentTimeMillis();
 
             waitingTime = Math.min(waitingTime,
                     startTime + thresholdTime - currentTime + 1);
 
-            try {
-                Thread.sleep(waitingTime);
-            } catch (InterruptedException ignored) {
-            }
+            sleep(waitingTime);
         }
 
-        if (loadersIdentifiers.stream()
-                .map(this::getElement)
-                .allMatch(it -> it == null || !it.isDisplayed())) return;
+        if (areLoadersHidden(loadersIdentifiers)) return;
 
         throw new TimeoutException(
                 "Page was not loaded in the specified time "
@@ -279,6 +504,25 @@ public class ImprovedPageLoader {
             long unchangedWaitingTime,
             long repeatedWaitingTime,
             boolean shouldChange
+    ) {
+        recordWait("waitByDOMSize", thresholdTime, () ->
+                doWaitByDOMSize(
+                        thresholdTime,
+                        unchangedWaitingTime,
+                        repeatedWaitingTime,
+                        shouldChange
+                ));
+    }
+
+    /**
+     * Method of the wait of {@link #waitByDOMSize(long, long, long, boolean)}
+     * without recording it
+     */
+    private void doWaitByDOMSize(
+            long thresholdTime,
+            long unchangedWaitingTime,
+            long repeatedWaitingTime,
+            boolean shouldChange
     ) {
         int countChecks = (int) (
                 (unchangedWaitingTime + repeatedWaitingTime - 1)
@@ -309,10 +553,7 @@ public class ImprovedPageLoader {
                 previousSize = currentSize;
             }
 
-            try {
-                Thread.sleep(repeatedWaitingTime);
-            } catch (InterruptedException ignored) {
-            }
+            sleep(repeatedWaitingTime);
         }
 
         throw new TimeoutException(
@@ -490,6 +731,28 @@ public class ImprovedPageLoader {
             long unchangedWaitingTime,
             long repeatedWaitingTime,
             boolean shouldChange
+    ) {
+        recordWait("waitByImprovedDOMSize", thresholdTime, () ->
+                doWaitByImprovedDOMSize(
+                        elementsIdentifiers,
+                        thresholdTime,
+                        unchangedWaitingTime,
+                        repeatedWaitingTime,
+                        shouldChange
+                ));
+    }
+
+    /**
+     * Method of the wait of
+     * {@link #waitByImprovedDOMSize(List, long, long, long, boolean)}
+     * without recording it
+     */
+    private void doWaitByImprovedDOMSize(
+            List<By> elementsIdentifiers,
+            long thresholdTime,
+            long unchangedWaitingTime,
+            long repeatedWaitingTime,
+            boolean shouldChange
     ) {
         if (elementsIdentifiers.isEmpty()) return;
 
@@ -509,11 +772,7 @@ public class ImprovedPageLoader {
         boolean isChanged = false;
 
         while (System.currentTimeMillis() - startTime < thresholdTime) {
-            int currentSize = elementsIdentifiers.stream()
-                    .map(this::getElement)
-                    .filter(Objects::nonNull)
-                    .mapToInt(this::getElementSize)
-                    .sum();
+            int currentSize = getElementsSize(elementsIdentifiers);
 
             sizes.append(currentSize);
 
@@ -527,10 +786,7 @@ public class ImprovedPageLoader {
                 previousSize = currentSize;
             }
 
-            try {
-                Thread.sleep(repeatedWaitingTime);
-            } catch (InterruptedException ignored) {
-            }
+            sleep(repeatedWaitingTime);
         }
 
         throw new
@@ -541,40 +797,1295 @@ public class ImprovedPageLoader {
     }
 
     /**
-     * Method to get current size of the web element on the page
+     * Method of waiting for the images, web fonts and media of a web
+     * page to be loaded and decoded
+     * <ul>
+     *     <li>The maximum waiting time is equal to the default value
+     *     {@value MAX_THRESHOLD_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     *     <li>If no scopes are given, the whole document is
+     *     analysed.</li>
+     *     <li>Scopes are looked up in the open shadow roots and the
+     *     same-origin frames too. Scopes which are not on the page yet
+     *     are considered not loaded, so the wait continues until they
+     *     appear.</li>
+     * </ul>
      *
-     * @param element {@link WebElement} whose size you want to know
-     * @return size of the web element
+     * @param scopesIdentifiers list of identifiers of the subtrees
+     *                          whose assets should be analysed
+     * @throws TimeoutException if waiting time exceeded thresholdTime
      */
-    private int getElementSize(WebElement element) {
-        return element.getAttribute("innerHTML").length();
+    public void waitByAssetsReadiness(By... scopesIdentifiers) {
+        waitByAssetsReadiness(
+                Arrays.stream(scopesIdentifiers).toList(),
+                MAX_THRESHOLD_TIME,
+                TIME_BEFORE_NEXT_CHECK
+        );
     }
 
     /**
-     * Method to get current size of the web page
+     * Method of waiting for the images, web fonts and media of a web
+     * page to be loaded and decoded
+     * <ul>
+     *     <li>The maximum waiting time is equal to the default value
+     *     {@value MAX_THRESHOLD_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     *     <li>If no scopes are given, the whole document is
+     *     analysed.</li>
+     *     <li>Scopes are looked up in the open shadow roots and the
+     *     same-origin frames too. Scopes which are not on the page yet
+     *     are considered not loaded, so the wait continues until they
+     *     appear.</li>
+     * </ul>
      *
-     * @return size of the web page
+     * @param scopesIdentifiers list of identifiers of the subtrees
+     *                          whose assets should be analysed
+     * @throws TimeoutException if waiting time exceeded thresholdTime
      */
-    private int getFullPageSize() {
-        return driver.getPageSource().length();
+    public void waitByAssetsReadiness(List<By> scopesIdentifiers) {
+        waitByAssetsReadiness(
+                scopesIdentifiers,
+                MAX_THRESHOLD_TIME,
+                TIME_BEFORE_NEXT_CHECK
+        );
     }
 
     /**
-     * Method that returns a web element by identifier or null
-     * if it is not on the page
+     * Method of waiting for the images, web fonts and media of a web
+     * page to be loaded and decoded
+     * <ul>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     *     <li>If no scopes are given, the whole document is
+     *     analysed.</li>
+     *     <li>Scopes are looked up in the open shadow roots and the
+     *     same-origin frames too. Scopes which are not on the page yet
+     *     are considered not loaded, so the wait continues until they
+     *     appear.</li>
+     * </ul>
      *
-     * @param identifier {@link By} identifier of the web element to get
-     * @return the found {@link WebElement} or null
+     * @param scopesIdentifiers list of identifiers of the subtrees
+     *                          whose assets should be analysed
+     * @param thresholdTime     max waiting time in milliseconds
+     * @throws TimeoutException if waiting time exceeded thresholdTime
      */
-    private WebElement getElement(By identifier) {
-        try {
-            return driver.findElement(identifier);
-        } catch (NoSuchElementException ex) {
-            return null;
+    public void waitByAssetsReadiness(
+            List<By> scopesIdentifiers,
+            long thresholdTime
+    ) {
+        waitByAssetsReadiness(
+                scopesIdentifiers,
+                thresholdTime,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Method of waiting for the images, web fonts and media of a web
+     * page to be loaded and decoded.
+     * <p>
+     * Every check is a single asynchronous script that waits for
+     * {@code document.fonts.ready}, checks {@code img.complete} and
+     * awaits {@code img.decode()} of the loaded images, and checks the
+     * {@code readyState} of the media elements. Images whose
+     * {@code data-src} has not been applied by a script yet are
+     * considered loading. Lazy images outside of the viewport are not
+     * awaited, since the browser defers them.
+     * <ul>
+     *     <li>If no scopes are given, the whole document is
+     *     analysed.</li>
+     *     <li>Scopes are looked up in the open shadow roots and the
+     *     same-origin frames too. Scopes which are not on the page yet
+     *     are considered not loaded, so the wait continues until they
+     *     appear.</li>
+     * </ul>
+     *
+     * @param scopesIdentifiers   list of identifiers of the subtrees
+     *                            whose assets should be analysed
+     * @param thresholdTime       max waiting time in milliseconds
+     * @param repeatedWaitingTime time between rechecks
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public void waitByAssetsReadiness(
+            List<By> scopesIdentifiers,
+            long thresholdTime,
+            long repeatedWaitingTime
+    ) {
+        recordWait("waitByAssetsReadiness", thresholdTime, () ->
+                doWaitByAssetsReadiness(
+                        scopesIdentifiers,
+                        thresholdTime,
+                        repeatedWaitingTime
+                ));
+    }
+
+    /**
+     * Method of the wait of {@link #waitByAssetsReadiness(List, long, long)}
+     * without recording it
+     */
+    private void doWaitByAssetsReadiness(
+            List<By> scopesIdentifiers,
+            long thresholdTime,
+            long repeatedWaitingTime
+    ) {
+        long startTime = System.currentTimeMillis();
+
+        List<List<String>> locators = getScriptLocators(scopesIdentifiers);
+
+        while (System.currentTimeMillis() - startTime < thresholdTime) {
+            List<?> scopes = locators != null
+                    ? locators
+                    : getElements(scopesIdentifiers);
+
+            long currentTime = System.currentTimeMillis();
+            long budget = Math.max(1, Math.min(repeatedWaitingTime,
+                    startTime + thresholdTime - currentTime));
+
+            if (!scopes.contains(null)
+                    && Boolean.TRUE.equals(executeAsyncScript(
+                    "assetsReadiness",
+                    ProbeScripts.ASSETS_READINESS,
+                    scopes,
+                    budget
+            ))) {
+                return;
+            }
+
+            currentTime = System.currentTimeMillis();
+            long waitingTime = Math.min(repeatedWaitingTime,
+                    startTime + thresholdTime - currentTime + 1);
+
+            sleep(waitingTime);
         }
+
+        throw new TimeoutException(
+                "Page was not loaded in the specified time "
+                        + thresholdTime + "!"
+        );
     }
 
-    private static final long TIME_BEFORE_NEXT_CHECK = 100;
-    private static final long UNCHANGED_WAITING_TIME = 500;
-    private static final long MAX_THRESHOLD_TIME = 4000;
+    /**
+     * Method of waiting for the main thread of a web page to become
+     * idle
+     * <ul>
+     *     <li>The maximum waiting time is equal to the default value
+     *     {@value MAX_THRESHOLD_TIME} milliseconds</li>
+     *     <li>The time during which the main thread must remain idle
+     *     is equal to the default value {@value UNCHANGED_WAITING_TIME}
+     *     milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @return the waiting time and the long tasks observed
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public IdleWaitResult waitByMainThreadIdle() {
+        return waitByMainThreadIdle(
+                MAX_THRESHOLD_TIME,
+                UNCHANGED_WAITING_TIME,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Method of waiting for the main thread of a web page to become
+     * idle
+     * <ul>
+     *     <li>The time during which the main thread must remain idle
+     *     is equal to the default value {@value UNCHANGED_WAITING_TIME}
+     *     milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param thresholdTime max waiting time in milliseconds
+     * @return the waiting time and the long tasks observed
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public IdleWaitResult waitByMainThreadIdle(long thresholdTime) {
+        return waitByMainThreadIdle(
+                thresholdTime,
+                UNCHANGED_WAITING_TIME,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Method of waiting for the main thread of a web page to become
+     * idle
+     * <ul>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param thresholdTime max waiting time in milliseconds
+     * @param idleTime      the time during which the main thread must
+     *                      remain idle
+     * @return the waiting time and the long tasks observed
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public IdleWaitResult waitByMainThreadIdle(
+            long thresholdTime,
+            long idleTime
+    ) {
+        return waitByMainThreadIdle(
+                thresholdTime,
+                idleTime,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Method of waiting for the main thread of a web page to become
+     * idle.
+     * <p>
+     * Long tasks are observed in the page with the Long Tasks API, and
+     * every check requests an idle callback. The main thread is
+     * considered busy at the end of every long task and whenever the
+     * idle callback is not called within the time between rechecks.
+     * <p>
+     * The long tasks run before the first check are taken from the
+     * buffer of the browser, so a page idle since its last long task
+     * does not wait for another idle window. In browsers without the
+     * Long Tasks API the idle window is measured from the first check.
+     *
+     * @param thresholdTime       max waiting time in milliseconds
+     * @param idleTime            the time during which the main thread
+     *                            must remain idle
+     * @param repeatedWaitingTime time between rechecks
+     * @return the waiting time and the long tasks observed
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public IdleWaitResult waitByMainThreadIdle(
+            long thresholdTime,
+            long idleTime,
+            long repeatedWaitingTime
+    ) {
+        return recordWait("waitByMainThreadIdle", thresholdTime, () ->
+                doWaitByMainThreadIdle(
+                        thresholdTime,
+                        idleTime,
+                        repeatedWaitingTime
+                ));
+    }
+
+    /**
+     * Method of the wait of {@link #waitByMainThreadIdle(long, long, long)}
+     * without recording it
+     */
+    private IdleWaitResult doWaitByMainThreadIdle(
+            long thresholdTime,
+            long idleTime,
+            long repeatedWaitingTime
+    ) {
+        long startTime = System.currentTimeMillis();
+        double initialLongTasksTime = -1;
+        long initialLongTasksCount = 0;
+
+        while (System.currentTimeMillis() - startTime < thresholdTime) {
+            long currentTime = System.currentTimeMillis();
+            long budget = Math.max(1, Math.min(repeatedWaitingTime,
+                    startTime + thresholdTime - currentTime));
+
+            List<?> state = (List<?>) executeAsyncScript(
+                    "mainThreadIdle",
+                    ProbeScripts.MAIN_THREAD_IDLE,
+                    budget
+            );
+            double currentIdleTime = ((Number) state.get(0)).doubleValue();
+            double longTasksTime = ((Number) state.get(1)).doubleValue();
+            long longTasksCount = ((Number) state.get(2)).longValue();
+
+            if (initialLongTasksTime < 0) {
+                initialLongTasksTime = longTasksTime;
+                initialLongTasksCount = longTasksCount;
+            }
+
+            if (currentIdleTime >= idleTime) {
+                return new IdleWaitResult(
+                        System.currentTimeMillis() - startTime,
+                        Math.round(longTasksTime - initialLongTasksTime),
+                        (int) (longTasksCount - initialLongTasksCount)
+                );
+            }
+
+            currentTime = System.currentTimeMillis();
+            long waitingTime = Math.min(repeatedWaitingTime,
+                    startTime + thresholdTime - currentTime + 1);
+
+            sleep(waitingTime);
+        }
+
+        throw new TimeoutException(
+                "Page was not loaded in the specified time "
+                        + thresholdTime + "!"
+        );
+    }
+
+    /**
+     * Method of loading several web pages in new tabs of the current
+     * browser session and waiting for all of them to load
+     * <ul>
+     *     <li>The maximum waiting time is equal to the default value
+     *     {@value MAX_THRESHOLD_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param urls addresses of the web pages to load
+     * @return loading times in milliseconds by window handles of the
+     * tabs, in the order of the addresses
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<String, Long> loadInTabs(List<String> urls) {
+        return loadInTabs(
+                urls,
+                MAX_THRESHOLD_TIME,
+                TIME_BEFORE_NEXT_CHECK,
+                (handle, loadingTime) -> {
+                }
+        );
+    }
+
+    /**
+     * Method of loading several web pages in new tabs of the current
+     * browser session and waiting for all of them to load
+     * <ul>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param urls          addresses of the web pages to load
+     * @param thresholdTime max waiting time in milliseconds
+     * @return loading times in milliseconds by window handles of the
+     * tabs, in the order of the addresses
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<String, Long> loadInTabs(
+            List<String> urls,
+            long thresholdTime
+    ) {
+        return loadInTabs(
+                urls,
+                thresholdTime,
+                TIME_BEFORE_NEXT_CHECK,
+                (handle, loadingTime) -> {
+                }
+        );
+    }
+
+    /**
+     * Method of loading several web pages in new tabs of the current
+     * browser session and waiting for all of them to load
+     * <ul>
+     *     <li>A tab is considered loaded as soon as its load event has
+     *     fired, i.e. its {@code document.readyState} is
+     *     {@code complete}</li>
+     * </ul>
+     *
+     * @param urls                addresses of the web pages to load
+     * @param thresholdTime       max waiting time in milliseconds
+     * @param repeatedWaitingTime time between rechecks
+     * @param onTabLoaded         called with the window handle and the
+     *                            loading time of every tab as soon as
+     *                            it is loaded
+     * @return loading times in milliseconds by window handles of the
+     * tabs, in the order of the addresses
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<String, Long> loadInTabs(
+            List<String> urls,
+            long thresholdTime,
+            long repeatedWaitingTime,
+            BiConsumer<String, Long> onTabLoaded
+    ) {
+        return loadInTabs(
+                urls,
+                List.of(),
+                thresholdTime,
+                repeatedWaitingTime,
+                onTabLoaded
+        );
+    }
+
+    /**
+     * Method of loading several web pages in new tabs of the current
+     * browser session and waiting for all of them to load by analysing
+     * their load indicators
+     * <ul>
+     *     <li>The maximum waiting time is equal to the default value
+     *     {@value MAX_THRESHOLD_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param urls               addresses of the web pages to load
+     * @param loadersIdentifiers list of loading indicator identifiers,
+     *                           checked in every tab
+     * @return loading times in milliseconds by window handles of the
+     * tabs, in the order of the addresses
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<String, Long> loadInTabs(
+            List<String> urls,
+            List<By> loadersIdentifiers
+    ) {
+        return loadInTabs(
+                urls,
+                loadersIdentifiers,
+                MAX_THRESHOLD_TIME,
+                TIME_BEFORE_NEXT_CHECK,
+                (handle, loadingTime) -> {
+                }
+        );
+    }
+
+    /**
+     * Method of loading several web pages in new tabs of the current
+     * browser session and waiting for all of them to load by analysing
+     * their load indicators.
+     * <p>
+     * The tabs are opened from the current web page, which checks the
+     * ready state and the load indicators of all the same-origin tabs
+     * in a single script per check. The driver switches only to the
+     * cross-origin tabs that are still loading, and always returns to
+     * the current window.
+     * <p>
+     * A tab is considered loaded when its load event has fired, i.e. its
+     * {@code document.readyState} is {@code complete}, and none of the
+     * load indicators is displayed in it, as in
+     * {@link #waitByLoadersStatus(List, long, long)}. The loading time
+     * of a tab and the maximum waiting time are counted from the
+     * opening of the tab and of the first tab respectively. If the
+     * method fails, including by timeout, all the tabs it has opened
+     * are closed before the exception is thrown.
+     *
+     * @param urls                addresses of the web pages to load
+     * @param loadersIdentifiers  list of loading indicator identifiers,
+     *                            checked in every tab
+     * @param thresholdTime       max waiting time in milliseconds
+     * @param repeatedWaitingTime time between rechecks
+     * @param onTabLoaded         called with the window handle and the
+     *                            loading time of every tab as soon as
+     *                            it is loaded
+     * @return loading times in milliseconds by window handles of the
+     * tabs, in the order of the addresses
+     * @throws TimeoutException if waiting time exceeded thresholdTime
+     */
+    public Map<String, Long> loadInTabs(
+            List<String> urls,
+            List<By> loadersIdentifiers,
+            long thresholdTime,
+            long repeatedWaitingTime,
+            BiConsumer<String, Long> onTabLoaded
+    ) {
+        return recordWait("loadInTabs", thresholdTime, () ->
+                doLoadInTabs(
+                        urls,
+                        loadersIdentifiers,
+                        thresholdTime,
+                        repeatedWaitingTime,
+                        onTabLoaded
+                ));
+    }
+
+    /**
+     * Method of the wait of
+     * {@link #loadInTabs(List, List, long, long, BiConsumer)}
+     * without recording it
+     */
+    private Map<String, Long> doLoadInTabs(
+            List<String> urls,
+            List<By> loadersIdentifiers,
+            long thresholdTime,
+            long repeatedWaitingTime,
+            BiConsumer<String, Long> onTabLoaded
+    ) {
+        String originalHandle =
+                coordinator.exclusive(driver::getWindowHandle);
+        List<String> names = new ArrayList<>();
+        List<String> handles = new ArrayList<>();
+        Map<String, Long> openingTimes = new HashMap<>();
+
+        try {
+            long startTime = System.currentTimeMillis();
+            coordinator.exclusive(() ->
+                    openTabs(urls, names, handles, openingTimes));
+
+            Map<String, Long> loadingTimes = new LinkedHashMap<>();
+            handles.forEach(it -> loadingTimes.put(it, null));
+
+            while (true) {
+                List<String> loadedHandles = coordinator.exclusive(() ->
+                        getLoadedTabs(
+                                handles,
+                                names,
+                                loadersIdentifiers,
+                                loadingTimes,
+                                originalHandle
+                        ));
+
+                for (String handle : loadedHandles) {
+                    long loadingTime = System.currentTimeMillis()
+                            - openingTimes.get(handle);
+                    loadingTimes.put(handle, loadingTime);
+                    onTabLoaded.accept(handle, loadingTime);
+                }
+
+                if (!loadingTimes.containsValue(null)) return loadingTimes;
+
+                long currentTime = System.currentTimeMillis();
+                if (currentTime - startTime >= thresholdTime) break;
+
+                long waitingTime = Math.min(repeatedWaitingTime,
+                        startTime + thresholdTime - currentTime + 1);
+
+                sleep(waitingTime);
+            }
+
+            throw new TimeoutException(
+                    "Tabs were not loaded in the specified time "
+                            + thresholdTime + "!"
+            );
+        } catch (RuntimeException | Error ex) {
+            try {
+                coordinator.exclusive(() -> closeTabs(handles));
+            } catch (RuntimeException closeEx) {
+                ex.addSuppressed(closeEx);
+            }
+            throw ex;
+        } finally {
+            coordinator.exclusive(() ->
+                    driver.switchTo().window(originalHandle));
+        }
+    }
+
+    /**
+     * Method to open web pages in new tabs from the current web page
+     *
+     * @param urls         addresses of the web pages to load
+     * @param names        list to add the names of the opened tabs to
+     * @param handles      list to add the window handles of the opened
+     *                     tabs to, in the order of the addresses
+     * @param openingTimes map to put the opening times of the tabs to,
+     *                     by their window handles
+     * @return window handles of the opened tabs
+     * @throws WebDriverException if some tabs were not opened
+     */
+    private List<String> openTabs(
+            List<String> urls,
+            List<String> names,
+            List<String> handles,
+            Map<String, Long> openingTimes
+    ) {
+        Set<String> knownHandles = new HashSet<>(driver.getWindowHandles());
+
+        for (String url : urls) {
+            String name = "page_loader_tab_" + TABS_COUNTER.incrementAndGet();
+            long openingTime = System.currentTimeMillis();
+            executeScript("openTab", ProbeScripts.OPEN_TAB, url, name);
+
+            Set<String> currentHandles = driver.getWindowHandles();
+            currentHandles.stream()
+                    .filter(it -> !knownHandles.contains(it))
+                    .findFirst()
+                    .ifPresent(it -> {
+                        handles.add(it);
+                        openingTimes.put(it, openingTime);
+                    });
+            knownHandles.addAll(currentHandles);
+            names.add(name);
+        }
+
+        if (handles.size() != urls.size()) {
+            throw new WebDriverException(
+                    "Only " + handles.size() + " of " + urls.size()
+                            + " tabs were opened!"
+            );
+        }
+
+        return handles;
+    }
+
+    /**
+     * Method to close the given tabs, ignoring the tabs which are
+     * already closed
+     *
+     * @param handles window handles of the tabs
+     * @return number of the closed tabs
+     */
+    private int closeTabs(List<String> handles) {
+        int closedCount = 0;
+
+        for (String handle : handles) {
+            try {
+                driver.switchTo().window(handle);
+                driver.close();
+                closedCount++;
+            } catch (NoSuchWindowException ignored) {
+            }
+        }
+
+        return closedCount;
+    }
+
+    /**
+     * Method to check which of the loading tabs have been loaded,
+     * switching only to the tabs inaccessible from the current web page
+     * and to the tabs whose load indicators can only be resolved by
+     * the {@link WebDriver}
+     *
+     * @param handles            window handles of the tabs
+     * @param names              names of the tabs
+     * @param loadersIdentifiers list of loading indicator identifiers
+     * @param loadingTimes       loading times of the tabs, null for the
+     *                           tabs which are still loading
+     * @param originalHandle     window handle of the current web page
+     * @return window handles of the tabs loaded since the last check
+     */
+    private List<String> getLoadedTabs(
+            List<String> handles,
+            List<String> names,
+            List<By> loadersIdentifiers,
+            Map<String, Long> loadingTimes,
+            String originalHandle
+    ) {
+        List<List<String>> locators = getScriptLocators(loadersIdentifiers);
+        List<?> states = (List<?>) executeScript(
+                "tabsStates", ProbeScripts.TABS_STATES, names,
+                locators == null ? List.of() : locators);
+        List<String> loadedHandles = new ArrayList<>();
+        boolean isSwitched = false;
+
+        for (int i = 0; i < handles.size(); i++) {
+            String handle = handles.get(i);
+            if (loadingTimes.get(handle) != null) continue;
+
+            Object state = states.get(i);
+            if (state == null || (locators == null
+                    && !loadersIdentifiers.isEmpty()
+                    && "complete".equals(state))) {
+                driver.switchTo().window(handle);
+                isSwitched = true;
+                state = executeScript(
+                        "readyState", ProbeScripts.READY_STATE);
+
+                if ("complete".equals(state)
+                        && !loadersIdentifiers.isEmpty()
+                        && !areLoadersHidden(loadersIdentifiers)) {
+                    state = "loading";
+                }
+            }
+
+            if ("complete".equals(state)) loadedHandles.add(handle);
+        }
+
+        if (isSwitched) driver.switchTo().window(originalHandle);
+
+        return loadedHandles;
+    }
+
+    /**
+     * Method of harvesting an infinite scroll feed by scrolling it
+     * until its end
+     * <ul>
+     *     <li>The maximum waiting time for new items after a scroll is
+     *     equal to the default value {@value MAX_THRESHOLD_TIME}
+     *     milliseconds, after which the end of the feed is
+     *     considered reached</li>
+     *     <li>The time during which the new items must remain
+     *     unchanged is equal to the default value
+     *     {@value UNCHANGED_WAITING_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param feedIdentifier identifier of the element whose children
+     *                       are the items of the feed
+     * @return the harvested items statistics
+     * @throws NoSuchElementException if the feed is not on the page
+     */
+    public ScrollHarvestResult harvestByInfiniteScroll(By feedIdentifier) {
+        return harvestByInfiniteScroll(
+                feedIdentifier,
+                null,
+                Integer.MAX_VALUE,
+                Long.MAX_VALUE
+        );
+    }
+
+    /**
+     * Method of harvesting an infinite scroll feed by scrolling it
+     * until its end
+     * <ul>
+     *     <li>The maximum waiting time for new items after a scroll is
+     *     equal to the default value {@value MAX_THRESHOLD_TIME}
+     *     milliseconds, after which the end of the feed is
+     *     considered reached</li>
+     *     <li>The time during which the new items must remain
+     *     unchanged is equal to the default value
+     *     {@value UNCHANGED_WAITING_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param feedIdentifier      identifier of the element whose
+     *                            children are the items of the feed
+     * @param endOfFeedIdentifier identifier of the element displayed at
+     *                            the end of the feed, or null
+     * @return the harvested items statistics
+     * @throws NoSuchElementException if the feed is not on the page
+     */
+    public ScrollHarvestResult harvestByInfiniteScroll(
+            By feedIdentifier,
+            By endOfFeedIdentifier
+    ) {
+        return harvestByInfiniteScroll(
+                feedIdentifier,
+                endOfFeedIdentifier,
+                Integer.MAX_VALUE,
+                Long.MAX_VALUE
+        );
+    }
+
+    /**
+     * Method of harvesting an infinite scroll feed by scrolling it
+     * until its end or until the budget is exhausted
+     * <ul>
+     *     <li>The maximum waiting time for new items after a scroll is
+     *     equal to the default value {@value MAX_THRESHOLD_TIME}
+     *     milliseconds, after which the end of the feed is
+     *     considered reached</li>
+     *     <li>The time during which the new items must remain
+     *     unchanged is equal to the default value
+     *     {@value UNCHANGED_WAITING_TIME} milliseconds</li>
+     *     <li>The time between rechecks is equal to the default value
+     *     {@value TIME_BEFORE_NEXT_CHECK} milliseconds</li>
+     * </ul>
+     *
+     * @param feedIdentifier      identifier of the element whose
+     *                            children are the items of the feed
+     * @param endOfFeedIdentifier identifier of the element displayed at
+     *                            the end of the feed, or null
+     * @param maxItems            number of the items after which the
+     *                            harvesting stops
+     * @param maxBytes            size of the items after which the
+     *                            harvesting stops
+     * @return the harvested items statistics
+     * @throws NoSuchElementException if the feed is not on the page
+     */
+    public ScrollHarvestResult harvestByInfiniteScroll(
+            By feedIdentifier,
+            By endOfFeedIdentifier,
+            int maxItems,
+            long maxBytes
+    ) {
+        return harvestByInfiniteScroll(
+                feedIdentifier,
+                endOfFeedIdentifier,
+                maxItems,
+                maxBytes,
+                MAX_THRESHOLD_TIME,
+                UNCHANGED_WAITING_TIME,
+                TIME_BEFORE_NEXT_CHECK
+        );
+    }
+
+    /**
+     * Method of harvesting an infinite scroll feed by scrolling it
+     * until its end or until the budget is exhausted.
+     * <p>
+     * After every scroll only the items appended since the previous
+     * scroll are measured, so the cost of a check does not grow with
+     * the feed. A step is over when new items have appeared and
+     * remained unchanged. The end of the feed is reached when the end
+     * of feed element is displayed, or when no new items appear within
+     * thresholdTime after a scroll.
+     *
+     * @param feedIdentifier       identifier of the element whose
+     *                             children are the items of the feed
+     * @param endOfFeedIdentifier  identifier of the element displayed
+     *                             at the end of the feed, or null
+     * @param maxItems             number of the items after which the
+     *                             harvesting stops
+     * @param maxBytes             size of the items after which the
+     *                             harvesting stops
+     * @param thresholdTime        max waiting time for new items after
+     *                             a scroll in milliseconds
+     * @param unchangedWaitingTime the time during which the new items
+     *                             must remain unchanged
+     * @param repeatedWaitingTime  time between rechecks
+     * @return the harvested items statistics
+     * @throws NoSuchElementException if the feed is not on the page
+     */
+    public ScrollHarvestResult harvestByInfiniteScroll(
+            By feedIdentifier,
+            By endOfFeedIdentifier,
+            int maxItems,
+            long maxBytes,
+            long thresholdTime,
+            long unchangedWaitingTime,
+            long repeatedWaitingTime
+    ) {
+        return recordWait("harvestByInfiniteScroll", thresholdTime, () ->
+                doHarvestByInfiniteScroll(
+                        feedIdentifier,
+                        endOfFeedIdentifier,
+                        maxItems,
+                        maxBytes,
+                        thresholdTime,
+                        unchangedWaitingTime,
+                        repeatedWaitingTime
+                ));
+    }
+
+    /**
+     * Method of the wait of
+     * {@link #harvestByInfiniteScroll(By, By, int, long, long, long, long)}
+     * without recording it
+     */
+    private ScrollHarvestResult doHarvestByInfiniteScroll(
+            By feedIdentifier,
+            By endOfFeedIdentifier,
+            int maxItems,
+            long maxBytes,
+            long thresholdTime,
+            long unchangedWaitingTime,
+            long repeatedWaitingTime
+    ) {
+        WebElement feed = getElement(feedIdentifier);
+        if (feed == null) {
+            throw new NoSuchElementException(
+                    "Feed was not found by " + feedIdentifier + "!"
+            );
+        }
+
+        int countChecks = (int) (
+                (unchangedWaitingTime + repeatedWaitingTime - 1)
+                        / repeatedWaitingTime
+        );
+        countChecks = Math.max(1, countChecks);
+
+        long startTime = System.currentTimeMillis();
+        List<?> state = harvestFeed(feed, 0, false, endOfFeedIdentifier);
+        int items = ((Number) state.get(0)).intValue();
+        long bytes = ((Number) state.get(1)).longValue();
+        boolean endOfFeed = Boolean.TRUE.equals(state.get(2));
+        int steps = 0;
+
+        while (!endOfFeed && items < maxItems && bytes < maxBytes) {
+            ArrayList<Long> initElements = new ArrayList<>();
+            for (int i = 0; i < countChecks; i++) {
+                initElements.add((long) -i - 1);
+            }
+            MinMaxInterval<Long> sizes = new MinMaxInterval<>(initElements);
+
+            long stepStartTime = System.currentTimeMillis();
+            boolean shouldScroll = true;
+            int currentItems;
+            long appendedBytes;
+
+            while (true) {
+                state = harvestFeed(
+                        feed, items, shouldScroll, endOfFeedIdentifier);
+                shouldScroll = false;
+                currentItems = ((Number) state.get(0)).intValue();
+                appendedBytes = ((Number) state.get(1)).longValue();
+                endOfFeed = Boolean.TRUE.equals(state.get(2));
+                sizes.append(appendedBytes);
+
+                if (endOfFeed) break;
+
+                if (currentItems > items
+                        && sizes.min().equals(sizes.max())) {
+                    break;
+                }
+
+                if (System.currentTimeMillis() - stepStartTime
+                        >= thresholdTime) {
+                    endOfFeed = currentItems <= items;
+                    break;
+                }
+
+                sleep(repeatedWaitingTime);
+            }
+
+            items = Math.max(items, currentItems);
+            bytes += appendedBytes;
+            steps++;
+        }
+
+        return new ScrollHarvestResult(
+                items,
+                bytes,
+                steps,
+                System.currentTimeMillis() - startTime,
+                endOfFeed
+        );
+    }
+
+    /**
+     * Method to measure the items appended to a feed, optionally
+     * scrolling to the end of the feed first
+     *
+     * @param feed                element whose children are the items
+     * @param fromIndex           index of the first item to measure
+     * @param shouldScroll        whether to scroll to the last item
+     * @param endOfFeedIdentifier identifier of the element displayed at
+     *                            the end of the feed, or null
+     * @return the number of the items, the size of the measured items
+     * and whether the end of feed element is displayed
+     */
+    private List<?> harvestFeed(
+            WebElement feed,
+            int fromIndex,
+            boolean shouldScroll,
+            By endOfFeedIdentifier
+    ) {
+        List<String> endOfFeedLocator = endOfFeedIdentifier == null
+                ? null : ScriptLocator.of(endOfFeedIdentifier);
+
+        List<Object> state = new ArrayList<>((List<?>) executeScript(
+                "harvestFeed",
+                ProbeScripts.HARVEST_FEED,
+                feed,
+                fromIndex,
+                shouldScroll,
+                endOfFeedLocator
+        ));
+
+        if (endOfFeedIdentifier != null && endOfFeedLocator == null) {
+            state.set(2, coordinator.exclusive(() -> {
+                WebElement endOfFeed = getElement(endOfFeedIdentifier);
+                return endOfFeed != null && endOfFeed.isDisplayed();
+            }));
+        }
+
+        return state;
+    }
+
+    /**
+     * Method to check whether all the loading indicators are absent or
+     * hidden, including the ones in open shadow roots and same-origin
+     * frames
+     *
+     * @param loadersIdentifiers list of loading indicator identifiers
+     * @return true if no loading indicator is displayed
+     */
+    private boolean areLoadersHidden(List<By> loadersIdentifiers) {
+        List<List<String>> locators = getScriptLocators(loadersIdentifiers);
+
+        if (locators == null) {
+            return coordinator.exclusive(() -> loadersIdentifiers.stream()
+                    .map(this::getElement)
+                    .allMatch(it -> it == null || !it.isDisplayed()));
+        }
+
+        return Boolean.TRUE.equals(executeScript(
+                "loadersHidden", ProbeScripts.LOADERS_HIDDEN, locators));
+    }
+
+    /**
+     * Method to get current total size of the web elements on the page,
+     * including their open shadow roots and same-origin frames
+     *
+     * @param identifiers {@link By} identifiers of the web elements
+     *                    whose size you want to know
+     * @return total size of the found web elements
+     */
+    private int getElementsSize(List<By> identifiers) {
+        List<List<String>> locators = getScriptLocators(identifiers);
+
+        if (locators == null) {
+            return identifiers.stream()
+                    .map(this::getElement)
+                    .filter(Objects::nonNull)
+                    .mapToInt(this::getElementSize)
+                    .sum();
+        }
+
+        return ((Number) executeScript(
+                "elementsSize", ProbeScripts.ELEMENTS_SIZE, locators)
+        ).intValue();
+    }
+
+    /**
+     * Method to get current size of the web element on the page,
+     * including its open shadow roots and same-origin frames
+     *
+     * @param element {@link WebElement} whose size you want to know
+     * @return size of the web element
+     */
+    private int getElementSize(WebElement element) {
+        return ((Number) executeScript(
+                "elementSize", ProbeScripts.ELEMENT_SIZE, element)
+        ).intValue();
+    }
+
+    /**
+     * Method to get current size of the web page, including its open
+     * shadow roots and same-origin frames
+     *
+     * @return size of the web page
+     */
+    private int getFullPageSize() {
+        return ((Number) executeScript(
+                "pageSize", ProbeScripts.PAGE_SIZE)
+        ).intValue();
+    }
+
+    /**
+     * Method that returns web elements by identifiers in a single round
+     * trip, if the identifiers can be resolved by a script
+     *
+     * @param identifiers {@link By} identifiers of the web elements to
+     *                    get
+     * @return the found {@link WebElement}s or nulls in the order of
+     * the identifiers
+     */
+    private List<WebElement> getElements(List<By> identifiers) {
+        List<List<String>> locators = getScriptLocators(identifiers);
+
+        if (identifiers.isEmpty() || locators == null) {
+            return identifiers.stream()
+                    .map(this::getElement)
+                    .toList();
+        }
+
+        List<?> elements = (List<?>) executeScript(
+                "findElements", ProbeScripts.FIND_ELEMENTS, locators);
+
+        return elements.stream()
+                .map(it -> (WebElement) it)
+                .toList();
+    }
+
+    /**
+     * Method that translates identifiers into script locators
+     *
+     * @param identifiers {@link By} identifiers of the web elements
+     * @return the script locators, or null if any of the identifiers
+     * can only be resolved by the {@link WebDriver}
+     */
+    private List<List<String>> getScriptLocators(List<By> identifiers) {
+        List<List<String>> locators = identifiers.stream()
+                .map(ScriptLocator::of)
+                .toList();
+
+        return locators.contains(null) ? null : locators;
+    }
+
+    /**
+     * Method to execute a script in the context of the current web page
+     *
+     * @param probe     name of the probe to report
+     * @param script    script to execute
+     * @param arguments arguments of the script
+     * @return the value returned by the script
+     */
+    private Object executeScript(
+            String probe,
+            String script,
+            Object... arguments
+    ) {
+        return probe(probe, script, arguments, () ->
+                coordinator.executeScript(script, arguments));
+    }
+
+    /**
+     * Method to execute an asynchronous script in the context of the
+     * current web page
+     *
+     * @param probe     name of the probe to report
+     * @param script    script whose last argument is the callback
+     * @param arguments arguments of the script
+     * @return the value passed to the callback
+     */
+    private Object executeAsyncScript(
+            String probe,
+            String script,
+            Object... arguments
+    ) {
+        return probe(probe, script, arguments, () -> coordinator.shared(
+                List.of(script, Arrays.asList(arguments)),
+                () -> ((JavascriptExecutor) driver)
+                        .executeAsyncScript(script, arguments)
+        ));
+    }
+
+    /**
+     * Method to record the wait of the given strategy for the Flight
+     * Recorder, including the exception or error it ends with
+     *
+     * @param strategy      name of the waiting strategy
+     * @param thresholdTime max waiting time in milliseconds
+     * @param wait          the wait to record
+     * @return result of the wait
+     */
+    private <T> T recordWait(
+            String strategy,
+            long thresholdTime,
+            Supplier<T> wait
+    ) {
+        WaitEvent event = WaitEvent.start(strategy, thresholdTime);
+
+        try {
+            return wait.get();
+        } catch (RuntimeException | Error ex) {
+            event.fail(ex);
+            throw ex;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Method to record the wait of the given strategy for the Flight
+     * Recorder, including the exception or error it ends with
+     *
+     * @param strategy      name of the waiting strategy
+     * @param thresholdTime max waiting time in milliseconds
+     * @param wait          the wait to record
+     */
+    private void recordWait(
+            String strategy,
+            long thresholdTime,
+            Runnable wait
+    ) {
+        recordWait(strategy, thresholdTime, () -> {
+            wait.run();
+            return null;
+        });
+    }
+
+    /**
+     * Method to sleep between the checks of a web page, recording the
+     * sleep for the Flight Recorder
+     *
+     * @param waitingTime time to sleep in milliseconds
+     */
+    private void sleep(long waitingTime) {
+        SleepEvent event = new SleepEvent();
+        event.begin();
+
+        try {
+            Thread.sleep(Math.max(0, waitingTime));
+        } catch (InterruptedException ignored) {
+        }
+
+        if (event.shouldCommit()) {
+            event.requestedTime = waitingTime;
+            event.commit();
+        }
+    }
+
+    /**
+     * Method to make a round trip to the browser and report it to the
+     * {@link ProbeListener}, if there is one, and to the Flight Recorder
+     *
+     * @param probe     name of the probe to report
+     * @param script    script sent to the browser, or null
+     * @param arguments arguments sent to the browser
+     * @param command   the round trip to make
+     * @return the result of the round trip
+     */
+    private <T> T probe(
+            String probe,
+            String script,
+            Object[] arguments,
+            Supplier<T> command
+    ) {
+        ProbeEvent event = new ProbeEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        T result = command.get();
+        long duration = System.nanoTime() - startTime;
+        event.end();
+
+        boolean shouldCommit = event.shouldCommit();
+        if (probeListener == null && !shouldCommit) return result;
+
+        long requestSize = payloadSize(script) + payloadSize(arguments);
+        long responseSize = payloadSize(result);
+
+        if (shouldCommit) {
+            event.probe = probe;
+            event.requestSize = requestSize;
+            event.responseSize = responseSize;
+            event.commit();
+        }
+
+        if (probeListener != null) {
+            probeListener.onProbe(probe, duration, requestSize, responseSize);
+        }
+
+        return result;
+    }
+
+    /**
+     * Method to estimate the size of a value sent to or received from
+     * the browser
+     *
+     * @param value value sent to or received from the browser
+     * @return approximate size of the value in characters
+     */
+    private static long payloadSize(Object value) {
+        if (value == null) return 0;
+        if (value instanceof CharSequence it) return it.length();
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString().length();
+        }
+        if (value instanceof Object[] it) {
+            return Arrays.stream(it)
+                    .mapToLong(ImprovedPageLoader::payloadSize)
+                    .sum();
+        }
+        if (value instanceof Collection<?> it) {
+            return it.stream()
+                    .mapToLong(ImprovedPageLoader::payloadSize)
+                    .sum();
+        }
+        if (value instanceof Map<?, ?> it) {
+            return it.entrySet().stream()
+                    .mapToLong(entry -> payloadSize(entry.getKey())
+                            + payloadSize(entry.getValue()))
+                    .sum();
+        }
+        if (value instanceof RemoteWebElement it) {
+            return it.getId().length();
+        }
+        return value.toString().length();
+    }
+
+    /**
+     * Method that returns a web element by identifier or null
+     * if it is not on the page or in its open shadow roots
+     *
+     * @param identifier {@link By} identifier of the web element to get
+     * @return the found {@link WebElement} or null
+     */
+    private WebElement getElement(By identifier) {
+        if (ScriptLocator.of(identifier) != null) {
+            return getElements(List.of(identifier)).get(0);
+        }
+
+        try {
+            return probe("findElement", null, new Object[]{identifier},
+                    () -> coordinator.shared(
+                            identifier,
+                            () -> driver.findElement(identifier)
+                    ));
+        } catch (NoSuchElementException ex) {
+            return null;
+        }
+    }
+
+    private static final long TIME_BEFORE_NEXT_CHECK = 100;
+    private static final long UNCHANGED_WAITING_TIME = 500;
+    private static final long MAX_THRESHOLD_TIME = 4000;
+
+    private static final AtomicLong TABS_COUNTER = new AtomicLong();
 }
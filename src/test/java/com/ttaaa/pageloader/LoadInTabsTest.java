@@ -0,0 +1,114 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadInTabsTest extends AbstractTestClass {
+
+    @Test
+    public void checkLoadInTabsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+        String originalHandle = driver.getWindowHandle();
+
+        List<String> loadedHandles = new ArrayList<>();
+        Map<String, Long> loadingTimes = pageLoader.loadInTabs(
+                List.of(
+                        "http://localhost:8080/PageLoader/SimpleMethodTest.html",
+                        "http://localhost:8080/PageLoader/DOMMethodTest.html",
+                        "http://localhost:8080/PageLoader/AssetsMethodTest.html"
+                ),
+                4000,
+                100,
+                (handle, loadingTime) -> loadedHandles.add(handle)
+        );
+
+        assertEquals(3, loadingTimes.size());
+        assertEquals(loadingTimes.keySet(), Set.copyOf(loadedHandles));
+        assertEquals(4, driver.getWindowHandles().size());
+        assertEquals(originalHandle, driver.getWindowHandle());
+    }
+
+    @Test
+    public void checkLoadInCrossOriginTabsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        Map<String, Long> loadingTimes = pageLoader.loadInTabs(List.of(
+                "http://127.0.0.1:8080/PageLoader/SimpleMethodTest.html",
+                "http://127.0.0.1:8080/PageLoader/DOMMethodTest.html"
+        ));
+
+        assertEquals(2, loadingTimes.size());
+        assertFalse(loadingTimes.containsValue(null));
+    }
+
+    @Test
+    public void checkTabsAreClosedOnFailureOfLoadInTabsMethod() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+        String originalHandle = driver.getWindowHandle();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> pageLoader.loadInTabs(
+                        List.of(
+                                "http://localhost:8080/PageLoader/SimpleMethodTest.html",
+                                "http://localhost:8080/PageLoader/DOMMethodTest.html"
+                        ),
+                        4000,
+                        100,
+                        (handle, loadingTime) -> {
+                            throw new IllegalStateException();
+                        }
+                )
+        );
+
+        assertEquals(Set.of(originalHandle), driver.getWindowHandles());
+        assertEquals(originalHandle, driver.getWindowHandle());
+    }
+
+    @Test
+    public void checkLoadInTabsMethodWithLoaders() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        Map<String, Long> loadingTimes = pageLoader.loadInTabs(
+                List.of(
+                        "http://localhost:8080/PageLoader/SimpleMethodTest.html",
+                        "http://127.0.0.1:8080/PageLoader/SimpleMethodTest.html"
+                ),
+                List.of(By.id("collapsed_loader"))
+        );
+
+        assertEquals(2, loadingTimes.size());
+        assertFalse(loadingTimes.containsValue(null));
+    }
+
+    @Test
+    public void checkNegativeLoadInTabsMethodWithLoaders() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+        String originalHandle = driver.getWindowHandle();
+
+        assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.loadInTabs(
+                        List.of(
+                                "http://localhost:8080/PageLoader/SimpleMethodTest.html",
+                                "http://127.0.0.1:8080/PageLoader/SimpleMethodTest.html"
+                        ),
+                        List.of(By.id("start_button")),
+                        1000,
+                        100,
+                        (handle, loadingTime) -> {
+                        }
+                )
+        );
+
+        assertEquals(Set.of(originalHandle), driver.getWindowHandles());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ttaaa.pageloader;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of a round trip of {@link ImprovedPageLoader} to
+ * the browser.
+ */
+@Name("com.ttaaa.pageloader.Probe")
+@Label("Page Loader Probe")
+@Category("Page Loader")
+@Description("Round trip to the browser checking the state of a page")
+final class ProbeEvent extends Event {
+    @Label("Probe")
+    String probe;
+
+    @Label("Request Size")
+    @Description("Approximate size of the request in characters")
+    long requestSize;
+
+    @Label("Response Size")
+    @Description("Approximate size of the response in characters")
+    long responseSize;
+}
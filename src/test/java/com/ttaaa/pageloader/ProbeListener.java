@@ -0,0 +1,25 @@
+package com.ttaaa.pageloader;
+
+/**
+ * Listener of the round trips made by {@link ImprovedPageLoader} to the
+ * browser while checking the state of a web page.
+ */
+@FunctionalInterface
+public interface ProbeListener {
+
+    /**
+     * Method called after every round trip to the browser
+     *
+     * @param probe        name of the probe
+     * @param duration     duration of the round trip in nanoseconds
+     * @param requestSize  approximate size of the request in characters
+     * @param responseSize approximate size of the response in
+     *                     characters
+     */
+    void onProbe(
+            String probe,
+            long duration,
+            long requestSize,
+            long responseSize
+    );
+}
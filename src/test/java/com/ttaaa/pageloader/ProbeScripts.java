@@ -0,0 +1,472 @@
+package com.ttaaa.pageloader;
+
+/**
+ * Scripts executed in the browser by {@link ImprovedPageLoader}. Each
+ * probe is a single script, so that it costs a single round trip.
+ */
+final class ProbeScripts {
+    private ProbeScripts() {
+    }
+
+    /**
+     * Declares {@code findElements(root, locator)}, which returns all
+     * the elements in the given root matching a script locator.
+     */
+    private static final String FIND_ELEMENTS_FUNCTION = """
+            function findElements(root, locator) {
+                var using = locator[0];
+                var value = locator[1];
+                switch (using) {
+                    case 'id':
+                        return Array.from(root.querySelectorAll(
+                                '#' + CSS.escape(value)));
+                    case 'name':
+                        return Array.from(root.querySelectorAll(
+                                '[name="' + CSS.escape(value) + '"]'));
+                    case 'className':
+                        return Array.from(root.querySelectorAll(
+                                '.' + CSS.escape(value)));
+                    case 'cssSelector':
+                    case 'tagName':
+                        return Array.from(root.querySelectorAll(value));
+                    case 'xpath':
+                        var owner = root.ownerDocument || root;
+                        var result = owner.evaluate(value, root, null,
+                                XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        var found = [];
+                        for (var i = 0; i < result.snapshotLength; i++) {
+                            found.push(result.snapshotItem(i));
+                        }
+                        return found;
+                    case 'linkText':
+                    case 'partialLinkText':
+                        return Array.from(root.querySelectorAll('a'))
+                                .filter(function (link) {
+                                    var text = link.innerText.trim();
+                                    return using === 'linkText'
+                                            ? text === value
+                                            : text.indexOf(value) >= 0;
+                                });
+                }
+                return [];
+            }
+            """;
+
+    /**
+     * Declares the functions walking the open shadow roots and the
+     * same-origin frames of the document:
+     * <ul>
+     *     <li>{@code findDeepElement(locator, withFrames)} returns the
+     *     first element matching a script locator, looking in the
+     *     document before the nested roots;</li>
+     *     <li>{@code contentSize(node)} returns the size of the markup
+     *     of an element, a shadow root or a document, including the
+     *     nested roots;</li>
+     *     <li>{@code isDisplayed(element)} tells whether an element and
+     *     the frames containing it are displayed, following the rules of
+     *     {@link org.openqa.selenium.WebElement#isDisplayed()}: an element
+     *     without a positive size, or clipped out by an ancestor with
+     *     hidden overflow, is not displayed.</li>
+     * </ul>
+     */
+    private static final String DEEP_FUNCTIONS = FIND_ELEMENTS_FUNCTION + """
+            var deepRoots = {};
+
+            function frameDocument(element) {
+                if (element.tagName !== 'IFRAME' && element.tagName !== 'FRAME') {
+                    return null;
+                }
+                try {
+                    var nested = element.contentDocument;
+                    return nested && nested.documentElement ? nested : null;
+                } catch (e) {
+                    return null;
+                }
+            }
+
+            function collectRoots(root, withFrames, roots) {
+                roots.push(root);
+                root.querySelectorAll('*').forEach(function (element) {
+                    if (element.shadowRoot) {
+                        collectRoots(element.shadowRoot, withFrames, roots);
+                    }
+                    var nested = withFrames && frameDocument(element);
+                    if (nested) collectRoots(nested, withFrames, roots);
+                });
+                return roots;
+            }
+
+            function findDeepElement(locator, withFrames) {
+                var found = findElements(document, locator)[0];
+                if (found) return found;
+
+                if (!deepRoots[withFrames]) {
+                    deepRoots[withFrames] = collectRoots(document, withFrames, []);
+                }
+                var roots = deepRoots[withFrames];
+                for (var i = 1; i < roots.length; i++) {
+                    try {
+                        found = findElements(roots[i], locator)[0];
+                    } catch (e) {
+                        found = null;
+                    }
+                    if (found) return found;
+                }
+                return null;
+            }
+
+            function contentSize(node) {
+                var size = node.nodeType === Node.DOCUMENT_NODE
+                        ? node.documentElement.outerHTML.length
+                        : node.innerHTML.length;
+                [node].concat(Array.from(node.querySelectorAll('*')))
+                        .forEach(function (element) {
+                            if (element.shadowRoot) {
+                                size += contentSize(element.shadowRoot);
+                            }
+                            var nested = element.tagName && frameDocument(element);
+                            if (nested) size += contentSize(nested);
+                        });
+                return size;
+            }
+
+            function hasPositiveSize(element) {
+                var rect = element.getBoundingClientRect();
+                if (rect.width > 0 && rect.height > 0) return true;
+
+                var view = element.ownerDocument.defaultView;
+                if (view.getComputedStyle(element).overflow === 'hidden') {
+                    return false;
+                }
+                return Array.from(element.childNodes).some(function (node) {
+                    return node.nodeType === Node.TEXT_NODE
+                            || (node.nodeType === Node.ELEMENT_NODE
+                                    && hasPositiveSize(node));
+                });
+            }
+
+            function isClipped(element) {
+                var rect = element.getBoundingClientRect();
+                var view = element.ownerDocument.defaultView;
+                for (var parent = element.parentElement; parent;
+                        parent = parent.parentElement) {
+                    var style = view.getComputedStyle(parent);
+                    if (['hidden', 'clip'].indexOf(style.overflowX) < 0
+                            && ['hidden', 'clip'].indexOf(style.overflowY) < 0) {
+                        continue;
+                    }
+                    var box = parent.getBoundingClientRect();
+                    if (rect.right <= box.left || rect.left >= box.right
+                            || rect.bottom <= box.top || rect.top >= box.bottom) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            function isDisplayed(element) {
+                var view = element.ownerDocument.defaultView;
+                var style = view.getComputedStyle(element);
+                if (style.visibility !== 'visible'
+                        || Number(style.opacity) === 0
+                        || element.getClientRects().length === 0
+                        || !hasPositiveSize(element)
+                        || isClipped(element)) {
+                    return false;
+                }
+                return !view.frameElement || isDisplayed(view.frameElement);
+            }
+            """;
+
+    /**
+     * Returns the first element matching every given script locator in
+     * the document or in its open shadow roots, or null if there is
+     * none. Elements of the frames are not returned, since the
+     * {@link org.openqa.selenium.WebDriver} can only use them after
+     * switching to the frame.
+     */
+    static final String FIND_ELEMENTS = DEEP_FUNCTIONS + """
+            return arguments[0].map(function (locator) {
+                return findDeepElement(locator, false);
+            });
+            """;
+
+    /**
+     * Returns {@code true} if the first element matching every given
+     * script locator in the document, its open shadow roots and its
+     * same-origin frames is either absent or not displayed.
+     */
+    static final String LOADERS_HIDDEN = DEEP_FUNCTIONS + """
+            return arguments[0].every(function (locator) {
+                var loader = findDeepElement(locator, true);
+                return !loader || !isDisplayed(loader);
+            });
+            """;
+
+    /**
+     * Returns the total size of the first elements matching the given
+     * script locators, including their open shadow roots and
+     * same-origin frames.
+     */
+    static final String ELEMENTS_SIZE = DEEP_FUNCTIONS + """
+            return arguments[0].reduce(function (size, locator) {
+                var element = findDeepElement(locator, true);
+                return element ? size + contentSize(element) : size;
+            }, 0);
+            """;
+
+    /**
+     * Returns the size of the given element, including its open shadow
+     * roots and same-origin frames.
+     */
+    static final String ELEMENT_SIZE = DEEP_FUNCTIONS + """
+            return contentSize(arguments[0]);
+            """;
+
+    /**
+     * Returns the size of the document, including its open shadow roots
+     * and same-origin frames.
+     */
+    static final String PAGE_SIZE = DEEP_FUNCTIONS + """
+            return contentSize(document);
+            """;
+
+    /**
+     * Resolves with {@code true} if all the fonts, images and media in
+     * the given scopes (or in the whole document) are ready, or with
+     * {@code false} otherwise. The scopes are either elements or script
+     * locators, which are looked up in the document, its open shadow
+     * roots and its same-origin frames; a scope which is not found is
+     * not ready. Waiting for decoding is limited by the given budget in
+     * milliseconds.
+     */
+    static final String ASSETS_READINESS = DEEP_FUNCTIONS + """
+            var scopes = arguments[0];
+            var budget = arguments[1];
+            var callback = arguments[arguments.length - 1];
+            var roots = scopes.length
+                    ? scopes.map(function (scope) {
+                        return Array.isArray(scope)
+                                ? findDeepElement(scope, true)
+                                : scope;
+                    })
+                    : [document.documentElement];
+            var ready = true;
+            var pending = [];
+
+            if (roots.indexOf(null) >= 0) {
+                callback(false);
+                return;
+            }
+
+            function collect(root, selector) {
+                var found = Array.from(root.querySelectorAll(selector));
+                return root.matches(selector) ? [root].concat(found) : found;
+            }
+
+            function isDeferred(image) {
+                if (image.loading !== 'lazy') return false;
+                var view = image.ownerDocument.defaultView;
+                var width = view.innerWidth
+                        || image.ownerDocument.documentElement.clientWidth;
+                var height = view.innerHeight
+                        || image.ownerDocument.documentElement.clientHeight;
+                var rect = image.getBoundingClientRect();
+                return rect.bottom < 0 || rect.top > height
+                        || rect.right < 0 || rect.left > width;
+            }
+
+            roots.map(function (root) {
+                return root.ownerDocument || root;
+            }).filter(function (owner, i, owners) {
+                return owners.indexOf(owner) === i;
+            }).forEach(function (owner) {
+                if (owner.fonts && owner.fonts.status !== 'loaded') {
+                    pending.push(owner.fonts.ready);
+                }
+            });
+
+            roots.forEach(function (root) {
+                collect(root, 'img').forEach(function (image) {
+                    if (isDeferred(image)) return;
+                    if (!image.complete || !image.currentSrc
+                            && (image.dataset.src || image.dataset.srcset)) {
+                        ready = false;
+                    } else if (image.naturalWidth > 0 && image.decode) {
+                        pending.push(image.decode().catch(function () {}));
+                    }
+                });
+                collect(root, 'video, audio').forEach(function (media) {
+                    if (media.error || media.preload === 'none'
+                            || media.networkState
+                                    === HTMLMediaElement.NETWORK_EMPTY
+                            || media.networkState
+                                    === HTMLMediaElement.NETWORK_NO_SOURCE) {
+                        return;
+                    }
+                    if (media.readyState < HTMLMediaElement.HAVE_CURRENT_DATA) {
+                        ready = false;
+                    }
+                });
+            });
+
+            if (!ready) {
+                callback(false);
+                return;
+            }
+
+            Promise.race([
+                Promise.all(pending).then(function () { return true; }),
+                new Promise(function (resolve) {
+                    setTimeout(resolve, budget, false);
+                })
+            ]).then(callback);
+            """;
+
+    /**
+     * Installs a long task observer on the first call in a document,
+     * taking the long tasks buffered since the navigation, and waits
+     * for an idle callback no longer than the given budget in
+     * milliseconds. Resolves with the time since the main thread was
+     * last busy, the total duration and the number of the long tasks
+     * observed. Without the Long Tasks API the main thread is
+     * considered busy at the first call.
+     */
+    static final String MAIN_THREAD_IDLE = """
+            var budget = arguments[0];
+            var callback = arguments[arguments.length - 1];
+            var state = window.__pageLoaderIdle;
+
+            if (!state) {
+                state = window.__pageLoaderIdle = {
+                    lastBusy: performance.now(),
+                    longTasksTime: 0,
+                    longTasksCount: 0
+                };
+                if (window.PerformanceObserver
+                        && PerformanceObserver.supportedEntryTypes
+                        && PerformanceObserver.supportedEntryTypes
+                                .indexOf('longtask') >= 0) {
+                    var record = function (entries) {
+                        entries.forEach(function (entry) {
+                            var end = entry.startTime + entry.duration;
+                            state.longTasksTime += entry.duration;
+                            state.longTasksCount++;
+                            state.lastBusy = Math.max(state.lastBusy, end);
+                        });
+                    };
+                    var observer = new PerformanceObserver(function (list) {
+                        record(list.getEntries());
+                    });
+                    // The type option ships together with the buffered
+                    // flag, so the long tasks since the navigation are
+                    // taken from the buffer right away
+                    observer.observe({type: 'longtask', buffered: true});
+                    state.lastBusy = 0;
+                    record(observer.takeRecords());
+                }
+            }
+
+            var requestedAt = performance.now();
+            var requestIdle = window.requestIdleCallback
+                    || function (handler) {
+                        return setTimeout(handler, 0, {didTimeout: false});
+                    };
+
+            requestIdle(function (deadline) {
+                var now = performance.now();
+                if (deadline.didTimeout || now - requestedAt > budget) {
+                    state.lastBusy = now;
+                }
+                callback([
+                    now - state.lastBusy,
+                    state.longTasksTime,
+                    state.longTasksCount
+                ]);
+            }, {timeout: budget});
+            """;
+
+    /**
+     * Opens the given address in a new tab with the given name and
+     * keeps the reference to the tab in the current web page.
+     */
+    static final String OPEN_TAB = """
+            var tabs = window.__pageLoaderTabs = window.__pageLoaderTabs || {};
+            tabs[arguments[1]] = window.open(arguments[0], arguments[1]);
+            """;
+
+    /**
+     * Returns the ready state of every tab with the given names opened
+     * from the current web page, {@code 'loading'} if the tab has not
+     * started the navigation yet or if the first element matching any
+     * of the given script locators is displayed in it, or null if the
+     * tab is not accessible from the current web page.
+     */
+    static final String TABS_STATES = "function deepFunctions(document) {\n"
+            + DEEP_FUNCTIONS + """
+            return {findDeepElement: findDeepElement, isDisplayed: isDisplayed};
+            }
+
+            var tabs = window.__pageLoaderTabs || {};
+            var loaders = arguments[1];
+            return arguments[0].map(function (name) {
+                var tab = tabs[name];
+                if (!tab || tab.closed) return null;
+                try {
+                    if (tab.location.href === 'about:blank') return 'loading';
+                    var state = tab.document.readyState;
+                    if (state !== 'complete' || loaders.length === 0) {
+                        return state;
+                    }
+                    var deep = deepFunctions(tab.document);
+                    return loaders.every(function (locator) {
+                        var loader = deep.findDeepElement(locator, true);
+                        return !loader || !deep.isDisplayed(loader);
+                    }) ? state : 'loading';
+                } catch (e) {
+                    return null;
+                }
+            });
+            """;
+
+    /**
+     * Returns the ready state of the current web page.
+     */
+    static final String READY_STATE = """
+            return document.readyState;
+            """;
+
+    /**
+     * Optionally scrolls the given feed to its last item, then returns
+     * the number of the items of the feed, the size of the items
+     * starting from the given index, and whether the element matching
+     * the given script locator is displayed.
+     */
+    static final String HARVEST_FEED = DEEP_FUNCTIONS + """
+            var feed = arguments[0];
+            var fromIndex = arguments[1];
+            var endOfFeedLocator = arguments[3];
+
+            if (arguments[2]) {
+                if (feed.lastElementChild) {
+                    feed.lastElementChild.scrollIntoView(false);
+                }
+                feed.scrollTop = feed.scrollHeight;
+            }
+
+            var items = feed.children;
+            var size = 0;
+            for (var i = fromIndex; i < items.length; i++) {
+                size += items[i].outerHTML.length;
+            }
+
+            var endOfFeed = endOfFeedLocator
+                    ? findDeepElement(endOfFeedLocator, true) : null;
+
+            return [
+                items.length,
+                size,
+                !!endOfFeed && isDisplayed(endOfFeed)
+            ];
+            """;
+}
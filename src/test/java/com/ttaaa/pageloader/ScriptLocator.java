@@ -0,0 +1,49 @@
+package com.ttaaa.pageloader;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translation of {@link By} identifiers into locators that can be
+ * resolved by a script in the browser, so that several identifiers can
+ * be resolved in a single round trip.
+ */
+final class ScriptLocator {
+    private ScriptLocator() {
+    }
+
+    /**
+     * Method that translates an identifier into a script locator. Only
+     * the standard {@link By} classes are translated, the string form
+     * of the identifier is used only to extract its value.
+     *
+     * @param identifier {@link By} identifier of the web element
+     * @return pair of the strategy and the value, or null if the
+     * identifier can only be resolved by the
+     * {@link org.openqa.selenium.WebDriver}
+     */
+    static List<String> of(By identifier) {
+        String strategy = STRATEGIES.get(identifier.getClass());
+        if (strategy == null) return null;
+
+        String prefix = "By." + strategy + ": ";
+        String description = identifier.toString();
+        if (!description.startsWith(prefix)) return null;
+
+        return List.of(strategy, description.substring(prefix.length()));
+    }
+
+    private static final Map<Class<? extends By>, String> STRATEGIES =
+            Map.of(
+                    By.ById.class, "id",
+                    By.ByName.class, "name",
+                    By.ByClassName.class, "className",
+                    By.ByCssSelector.class, "cssSelector",
+                    By.ByXPath.class, "xpath",
+                    By.ByTagName.class, "tagName",
+                    By.ByLinkText.class, "linkText",
+                    By.ByPartialLinkText.class, "partialLinkText"
+            );
+}
@@ -0,0 +1,43 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScriptLocatorTest {
+
+    @Test
+    public void checkStandardIdentifiersAreTranslated() {
+        assertEquals(List.of("id", "a"), ScriptLocator.of(By.id("a")));
+        assertEquals(
+                List.of("cssSelector", "div > p"),
+                ScriptLocator.of(By.cssSelector("div > p"))
+        );
+        assertEquals(
+                List.of("xpath", "//a[text()=': ']"),
+                ScriptLocator.of(By.xpath("//a[text()=': ']"))
+        );
+    }
+
+    @Test
+    public void checkCustomIdentifiersAreNotTranslated() {
+        By custom = new By() {
+            @Override
+            public List<WebElement> findElements(SearchContext context) {
+                return List.of();
+            }
+
+            @Override
+            public String toString() {
+                return "By.cssSelector: custom";
+            }
+        };
+
+        assertNull(ScriptLocator.of(custom));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ttaaa.pageloader;
+
+/**
+ * Result of harvesting an infinite scroll feed of a web page.
+ */
+public class ScrollHarvestResult {
+    private final int items;
+    private final long bytes;
+    private final int steps;
+    private final long harvestingTime;
+    private final boolean endOfFeed;
+
+    /**
+     * Default constructor for {@link ScrollHarvestResult}.
+     *
+     * @param items          number of the items in the feed
+     * @param bytes          total size of the items in the feed
+     * @param steps          number of the scrolls made
+     * @param harvestingTime time spent harvesting in milliseconds
+     * @param endOfFeed      whether the end of the feed was reached
+     */
+    public ScrollHarvestResult(
+            int items,
+            long bytes,
+            int steps,
+            long harvestingTime,
+            boolean endOfFeed
+    ) {
+        this.items = items;
+        this.bytes = bytes;
+        this.steps = steps;
+        this.harvestingTime = harvestingTime;
+        this.endOfFeed = endOfFeed;
+    }
+
+    /**
+     * @return number of the items in the feed
+     */
+    public int getItems() {
+        return items;
+    }
+
+    /**
+     * @return total size of the items in the feed
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return number of the scrolls made
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return time spent harvesting in milliseconds
+     */
+    public long getHarvestingTime() {
+        return harvestingTime;
+    }
+
+    /**
+     * @return whether the end of the feed was reached, as opposed to
+     * the budget being exhausted
+     */
+    public boolean isEndOfFeed() {
+        return endOfFeed;
+    }
+
+    /**
+     * @return number of the items in the feed per second of harvesting
+     */
+    public double getItemsPerSecond() {
+        return harvestingTime == 0 ? 0 : items * 1000.0 / harvestingTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ScrollHarvestResult{items=" + items
+                + ", bytes=" + bytes
+                + ", steps=" + steps
+                + ", harvestingTime=" + harvestingTime
+                + ", endOfFeed=" + endOfFeed + "}";
+    }
+}
@@ -0,0 +1,290 @@
+package com.ttaaa.pageloader;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Coordinator of the commands sent to a single {@link WebDriver} session
+ * by all the {@link ImprovedPageLoader}s using it.
+ * <ul>
+ *     <li>The commands never overlap: they are sent by one thread at a
+ *     time.</li>
+ *     <li>The scripts requested concurrently by different waits are
+ *     merged into a single round trip, and identical scripts are
+ *     executed once, sharing the result with every waiter. The
+ *     scripts which fail are retried one by one, so that every waiter
+ *     gets the same result or exception as without merging.</li>
+ *     <li>Identical commands requested while one of them is in flight
+ *     share its result.</li>
+ * </ul>
+ */
+final class SessionProbeCoordinator {
+    private static final Map<WebDriver, SessionProbeCoordinator> COORDINATORS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<WebDriver> driver;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Queue<ScriptRequest> pendingScripts =
+            new ConcurrentLinkedQueue<>();
+    private final Map<Object, CompletableFuture<Object>> inFlightCommands =
+            new ConcurrentHashMap<>();
+
+    private SessionProbeCoordinator(WebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+    }
+
+    /**
+     * Method to get the coordinator of a session
+     *
+     * @param driver {@link WebDriver} of the session
+     * @return the coordinator shared by all the users of the session
+     */
+    static SessionProbeCoordinator of(WebDriver driver) {
+        return COORDINATORS.computeIfAbsent(
+                driver,
+                SessionProbeCoordinator::new
+        );
+    }
+
+    /**
+     * Method to execute a script in the context of the current web
+     * page, merged with the scripts requested concurrently by other
+     * threads. Inside an {@link #exclusive} command the script is
+     * executed alone, since the current window may be switched.
+     *
+     * @param script    script to execute
+     * @param arguments arguments of the script
+     * @return the value returned by the script
+     */
+    Object executeScript(String script, Object[] arguments) {
+        if (lock.isHeldByCurrentThread()) {
+            return executor()
+                    .executeScript(script, arguments);
+        }
+
+        ScriptRequest request = new ScriptRequest(
+                script,
+                Arrays.asList(arguments)
+        );
+        pendingScripts.add(request);
+
+        lock.lock();
+        try {
+            if (!request.result.isDone()) executePendingScripts();
+        } finally {
+            lock.unlock();
+        }
+
+        return join(request.result);
+    }
+
+    /**
+     * Method to send a command to the browser without overlapping the
+     * commands of other threads. The command may send several
+     * requests, for example switch windows and switch back.
+     *
+     * @param command the command to send
+     * @return the result of the command
+     */
+    <T> T exclusive(Supplier<T> command) {
+        lock.lock();
+        try {
+            return command.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to send a command to the browser without overlapping the
+     * commands of other threads, sharing the result with the identical
+     * commands requested while it is in flight. Inside an
+     * {@link #exclusive} command the command is sent directly.
+     *
+     * @param key     key identifying identical commands
+     * @param command the command to send
+     * @return the result of the command
+     */
+    @SuppressWarnings("unchecked")
+    <T> T shared(Object key, Supplier<T> command) {
+        if (lock.isHeldByCurrentThread()) return command.get();
+
+        CompletableFuture<Object> inFlight = inFlightCommands.get(key);
+        if (inFlight != null) return (T) join(inFlight);
+
+        lock.lock();
+        try {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            inFlightCommands.put(key, result);
+
+            try {
+                T value = command.get();
+                result.complete(value);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                result.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlightCommands.remove(key, result);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method to estimate the number of threads waiting for the commands
+     * of other threads to be sent
+     *
+     * @return the estimated number of the waiting threads
+     */
+    int waitingThreads() {
+        return lock.getQueueLength() + inFlightCommands.values().stream()
+                .mapToInt(CompletableFuture::getNumberOfDependents)
+                .sum();
+    }
+
+    /**
+     * Method to execute all the pending scripts in a single round trip,
+     * executing identical scripts once. Must be called holding the
+     * lock.
+     */
+    private void executePendingScripts() {
+        Map<ScriptRequest, List<ScriptRequest>> batch = new LinkedHashMap<>();
+        for (ScriptRequest request = pendingScripts.poll();
+             request != null;
+             request = pendingScripts.poll()) {
+            batch.computeIfAbsent(request, it -> new ArrayList<>())
+                    .add(request);
+        }
+
+        List<ScriptRequest> scripts = new ArrayList<>(batch.keySet());
+
+        if (scripts.size() == 1) {
+            executeAlone(scripts.get(0), batch.get(scripts.get(0)));
+            return;
+        }
+
+        StringBuilder merged = new StringBuilder("var results = [];\n");
+        List<Object> arguments = new ArrayList<>();
+        for (int i = 0; i < scripts.size(); i++) {
+            merged.append("try {\n")
+                    .append("results.push([true, (function () {\n")
+                    .append(scripts.get(i).script)
+                    .append("\n}).apply(null, arguments[")
+                    .append(i)
+                    .append("])]);\n")
+                    .append("} catch (e) {\n")
+                    .append("results.push([false]);\n")
+                    .append("}\n");
+            arguments.add(scripts.get(i).arguments);
+        }
+        merged.append("return results;");
+
+        List<?> results;
+        try {
+            results = (List<?>) executor()
+                    .executeScript(merged.toString(), arguments.toArray());
+        } catch (RuntimeException ex) {
+            // A single bad request, e.g. with a stale element, fails the
+            // whole round trip, so every request is retried on its own
+            scripts.forEach(it -> executeAlone(it, batch.get(it)));
+            return;
+        }
+
+        for (int i = 0; i < scripts.size(); i++) {
+            List<?> result = (List<?>) results.get(i);
+            List<ScriptRequest> requests = batch.get(scripts.get(i));
+
+            if (Boolean.TRUE.equals(result.get(0))) {
+                complete(requests, result.get(1));
+            } else {
+                // Retried on its own to fail with the same exception as
+                // when it is not merged
+                executeAlone(scripts.get(i), requests);
+            }
+        }
+    }
+
+    /**
+     * Method to execute a script in its own round trip, completing all
+     * the identical requests with its result
+     *
+     * @param script   script to execute
+     * @param requests identical requests of the script
+     */
+    private void executeAlone(
+            ScriptRequest script,
+            List<ScriptRequest> requests
+    ) {
+        try {
+            complete(requests, executor().executeScript(
+                    script.script,
+                    script.arguments.toArray()
+            ));
+        } catch (RuntimeException ex) {
+            requests.forEach(it -> it.result.completeExceptionally(ex));
+        }
+    }
+
+    private JavascriptExecutor executor() {
+        return (JavascriptExecutor) driver.get();
+    }
+
+    private static void complete(List<ScriptRequest> requests, Object value) {
+        requests.forEach(it -> it.result.complete(value));
+    }
+
+    private static Object join(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw ex;
+        }
+    }
+
+    /**
+     * Request of a script execution. Requests with the same script and
+     * arguments are equal.
+     */
+    private static final class ScriptRequest {
+        final String script;
+        final List<Object> arguments;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        ScriptRequest(String script, List<Object> arguments) {
+            this.script = script;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ScriptRequest it
+                    && script.equals(it.script)
+                    && arguments.equals(it.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * script.hashCode() + arguments.hashCode();
+        }
+    }
+}
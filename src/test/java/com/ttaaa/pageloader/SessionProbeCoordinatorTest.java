@@ -0,0 +1,287 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionProbeCoordinatorTest {
+    private static final int THREADS = 8;
+    private static final String STALE = "stale";
+
+    private final AtomicInteger activeCommands = new AtomicInteger();
+    private final AtomicInteger maxActiveCommands = new AtomicInteger();
+    private final AtomicInteger commands = new AtomicInteger();
+    private WebDriver driver;
+
+    @BeforeEach
+    public void setUp() {
+        driver = (WebDriver) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                (proxy, method, arguments) -> switch (method.getName()) {
+                    case "executeScript" -> executeScript(
+                            (String) arguments[0],
+                            (Object[]) arguments[1]
+                    );
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == arguments[0];
+                    default -> null;
+                }
+        );
+    }
+
+    @Test
+    public void checkCoordinatorIsSharedBySession() {
+        assertSame(
+                SessionProbeCoordinator.of(driver),
+                SessionProbeCoordinator.of(driver)
+        );
+    }
+
+    @Test
+    public void checkConcurrentScriptsAreMerged() throws Exception {
+        SessionProbeCoordinator coordinator = SessionProbeCoordinator.of(driver);
+
+        List<Object> results = runWhileLocked(coordinator, i ->
+                coordinator.executeScript(
+                        "return arguments[0];",
+                        new Object[]{i}
+                ));
+
+        for (int i = 0; i < THREADS; i++) {
+            assertEquals(i, results.get(i));
+        }
+        assertEquals(1, maxActiveCommands.get());
+        assertEquals(1, commands.get());
+    }
+
+    @Test
+    public void checkIdenticalScriptsAreExecutedOnce() throws Exception {
+        SessionProbeCoordinator coordinator = SessionProbeCoordinator.of(driver);
+
+        List<Object> results = runWhileLocked(coordinator, i ->
+                coordinator.executeScript(
+                        "return arguments[0];",
+                        new Object[]{"a"}
+                ));
+
+        results.forEach(it -> assertEquals("a", it));
+        assertEquals(1, commands.get());
+    }
+
+    @Test
+    public void checkFailedMergedScriptsAreRetriedAlone() throws Exception {
+        SessionProbeCoordinator coordinator = SessionProbeCoordinator.of(driver);
+
+        List<Object> results = runWhileLocked(coordinator, i -> {
+            try {
+                return coordinator.executeScript(
+                        "return arguments[0];",
+                        new Object[]{i == 0 ? STALE : i}
+                );
+            } catch (RuntimeException ex) {
+                return ex;
+            }
+        });
+
+        assertInstanceOf(StaleElementReferenceException.class, results.get(0));
+        for (int i = 1; i < THREADS; i++) {
+            assertEquals(i, results.get(i));
+        }
+        assertEquals(1, maxActiveCommands.get());
+        assertEquals(1 + THREADS, commands.get());
+    }
+
+    @Test
+    public void checkInFlightCommandsAreShared() throws Exception {
+        SessionProbeCoordinator coordinator = SessionProbeCoordinator.of(driver);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            Future<Object> first = executor.submit(() ->
+                    coordinator.shared("key", () -> {
+                        started.countDown();
+                        await(release);
+                        return executeScript("command", new Object[0]);
+                    }));
+            started.await();
+
+            List<Future<Object>> others = new ArrayList<>();
+            for (int i = 1; i < THREADS; i++) {
+                others.add(executor.submit(() ->
+                        coordinator.shared("key", () ->
+                                executeScript("command", new Object[0]))));
+            }
+            awaitWaitingThreads(coordinator, THREADS - 1);
+            release.countDown();
+
+            assertEquals("command", first.get(5, TimeUnit.SECONDS));
+            for (Future<Object> future : others) {
+                assertEquals("command", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, commands.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void checkSharedCommandInsideExclusiveCommand() throws Exception {
+        SessionProbeCoordinator coordinator = SessionProbeCoordinator.of(driver);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch locked = new CountDownLatch(1);
+
+        try {
+            Future<Object> inside = executor.submit(() ->
+                    coordinator.exclusive(() -> {
+                        locked.countDown();
+                        awaitWaitingThreads(coordinator, 1);
+                        return coordinator.shared("key", () ->
+                                executeScript("inside", new Object[0]));
+                    }));
+            locked.await();
+
+            Future<Object> outside = executor.submit(() ->
+                    coordinator.shared("key", () ->
+                            executeScript("outside", new Object[0])));
+
+            assertEquals("inside", inside.get(5, TimeUnit.SECONDS));
+            assertEquals("outside", outside.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method to run a task in {@link #THREADS} threads while another
+     * thread holds the lock of the coordinator, so that all the tasks
+     * are waiting for the lock when it is released
+     *
+     * @param coordinator coordinator whose lock to hold
+     * @param task        task receiving the index of the thread
+     * @return results of the task in the order of the threads
+     */
+    private List<Object> runWhileLocked(
+            SessionProbeCoordinator coordinator,
+            IntFunction<Object> task
+    ) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            Future<Object> holder = executor.submit(() ->
+                    coordinator.exclusive(() -> {
+                        locked.countDown();
+                        await(release);
+                        return null;
+                    }));
+            locked.await();
+
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> task.apply(index)));
+            }
+
+            awaitWaitingThreads(coordinator, THREADS);
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method to wait until the given number of threads are waiting for
+     * the commands of other threads
+     *
+     * @param coordinator coordinator of the commands
+     * @param count       number of the waiting threads
+     */
+    private static void awaitWaitingThreads(
+            SessionProbeCoordinator coordinator,
+            int count
+    ) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (coordinator.waitingThreads() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Only " + coordinator.waitingThreads() + " of "
+                        + count + " threads are waiting!");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Fake script execution of the browser. Any script with a
+     * {@link #STALE} argument fails, a merged script returns the first
+     * argument of each of the merged scripts, any other script returns
+     * its first argument or itself.
+     */
+    private Object executeScript(String script, Object[] arguments) {
+        commands.incrementAndGet();
+        maxActiveCommands.accumulateAndGet(
+                activeCommands.incrementAndGet(),
+                Math::max
+        );
+
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException ignored) {
+        } finally {
+            activeCommands.decrementAndGet();
+        }
+
+        boolean isMerged = script.startsWith("var results = [];");
+        List<Object> values = new ArrayList<>();
+        for (Object argument : arguments) {
+            values.add(isMerged ? ((List<?>) argument).get(0) : argument);
+        }
+
+        if (values.contains(STALE)) {
+            throw new StaleElementReferenceException("Element is stale");
+        }
+
+        if (!isMerged) return values.isEmpty() ? script : values.get(0);
+
+        List<Object> results = new ArrayList<>();
+        for (Object value : values) {
+            results.add(List.of(true, value));
+        }
+        return results;
+    }
+}
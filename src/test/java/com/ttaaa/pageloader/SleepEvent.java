@@ -0,0 +1,22 @@
+package com.ttaaa.pageloader;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a sleep of {@link ImprovedPageLoader} between
+ * the checks of a page.
+ */
+@Name("com.ttaaa.pageloader.Sleep")
+@Label("Page Loader Sleep")
+@Category("Page Loader")
+@Description("Sleep between the checks of a page")
+final class SleepEvent extends Event {
+    @Label("Requested Time")
+    @Timespan(Timespan.MILLISECONDS)
+    long requestedTime;
+}
@@ -0,0 +1,108 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+
+/**
+ * Benchmark of the accuracy of the waiting strategies against the
+ * ground truth recorded by the fixture pages in
+ * {@code window.__startedAt} and {@code window.__loadedAt}.
+ * <p>
+ * The detection latency is the time between the true end of loading
+ * and the end of waiting. A premature return is a wait that ended
+ * before the true end of loading; its rate is taken over the waits
+ * which did not time out. The true loading duration is reported for
+ * comparison with the latency. It is not run by default, run it with
+ * {@code mvn test -Dtest=StrategyAccuracyBenchmark -Dbenchmark.runs=50}.
+ */
+public class StrategyAccuracyBenchmark extends AbstractBenchmarkClass {
+    @Test
+    public void benchmarkWaitByLoadersStatus() {
+        ArrayList<By> identifiersList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            identifiersList.add(By.id("loading_text_" + i));
+        }
+
+        benchmark(
+                "waitByLoadersStatus",
+                "http://localhost:8080/PageLoader/SimpleMethodTest.html",
+                () -> pageLoader.waitByLoadersStatus(identifiersList)
+        );
+    }
+
+    @Test
+    public void benchmarkWaitByDOMSize() {
+        benchmark(
+                "waitByDOMSize",
+                "http://localhost:8080/PageLoader/DOMMethodTest.html",
+                () -> pageLoader.waitByDOMSize()
+        );
+    }
+
+    @Test
+    public void benchmarkWaitByImprovedDOMSize() {
+        benchmark(
+                "waitByImprovedDOMSize",
+                "http://localhost:8080/PageLoader/DOMMethodTest.html",
+                () -> pageLoader.waitByImprovedDOMSize(By.id("main_page"))
+        );
+    }
+
+    /**
+     * Method to run a waiting strategy on a fixture page {@link #RUNS}
+     * times and print the distribution of its accuracy
+     *
+     * @param strategy name of the strategy
+     * @param url      address of the fixture page
+     * @param wait     the wait to benchmark
+     */
+    private void benchmark(String strategy, String url, Runnable wait) {
+        Distribution latencies = new Distribution();
+        Distribution prematureEarliness = new Distribution();
+        Distribution loadDurations = new Distribution();
+        int premature = 0;
+        int timeouts = 0;
+
+        for (int run = 0; run < RUNS; run++) {
+            driver.get(url);
+            driver.findElement(By.id("start_button")).click();
+
+            try {
+                wait.run();
+            } catch (TimeoutException ex) {
+                timeouts++;
+                continue;
+            }
+
+            double latency = measureDetectionLatency();
+            if (Double.isNaN(latency)) {
+                premature++;
+            } else if (latency < 0) {
+                premature++;
+                prematureEarliness.add(-latency);
+            } else {
+                latencies.add(latency);
+                loadDurations.add(measureLoadDuration());
+            }
+        }
+
+        int completed = RUNS - timeouts;
+
+        System.out.printf(
+                "%s: runs=%d timeouts=%d premature=%.1f%%%n"
+                        + "  detection latency, ms: %s%n"
+                        + "  premature by, ms (when known): %s%n"
+                        + "  true loading duration, ms: %s%n",
+                strategy,
+                RUNS,
+                timeouts,
+                completed == 0 ? 0.0 : 100.0 * premature / completed,
+                latencies,
+                prematureEarliness,
+                loadDurations
+        );
+    }
+}
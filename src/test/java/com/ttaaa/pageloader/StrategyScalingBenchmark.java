@@ -0,0 +1,173 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark of the scaling of the waiting strategies on the synthetic
+ * fixture page {@code SyntheticMethodTest.html} as the size of the
+ * page grows.
+ * <p>
+ * For every size it reports the number of round trips per wait, the
+ * cost of a round trip, the size of the requests and responses, and the
+ * detection latency against the ground truth, next to the true
+ * loading duration. The premature rate is taken over the waits which
+ * did not time out. It is not run by default, run it with
+ * {@code mvn test -Dtest=StrategyScalingBenchmark -Dbenchmark.runs=10}.
+ */
+public class StrategyScalingBenchmark extends AbstractBenchmarkClass {
+    private static final long THRESHOLD_TIME = 15000;
+
+    private static final List<PageSize> PAGE_SIZES = List.of(
+            new PageSize(1_000, 10, 50, 4),
+            new PageSize(10_000, 100, 200, 8),
+            new PageSize(100_000, 300, 1_000, 16)
+    );
+
+    @Test
+    public void benchmarkWaitByLoadersStatus() {
+        benchmark("waitByLoadersStatus", (pageSize, loader) -> {
+            ArrayList<By> identifiersList = new ArrayList<>();
+            for (int i = 0; i < pageSize.loaders(); i++) {
+                identifiersList.add(By.id("loading_text_" + i));
+            }
+
+            loader.waitByLoadersStatus(identifiersList, THRESHOLD_TIME);
+        });
+    }
+
+    @Test
+    public void benchmarkWaitByDOMSize() {
+        benchmark("waitByDOMSize", (pageSize, loader) ->
+                loader.waitByDOMSize(THRESHOLD_TIME));
+    }
+
+    @Test
+    public void benchmarkWaitByImprovedDOMSize() {
+        benchmark("waitByImprovedDOMSize", (pageSize, loader) ->
+                loader.waitByImprovedDOMSize(
+                        List.of(By.id("main_page")),
+                        THRESHOLD_TIME
+                ));
+    }
+
+    /**
+     * Method to run a waiting strategy {@link #RUNS} times on the
+     * synthetic page of every size and print a row per size
+     *
+     * @param strategy name of the strategy
+     * @param wait     the wait to benchmark on a page of the given size
+     *                 with the given loader
+     */
+    private void benchmark(String strategy, Wait wait) {
+        System.out.printf(
+                "%s%n%8s %8s %10s %10s %10s %12s %12s %10s %10s %10s %10s %9s%n",
+                strategy,
+                "nodes",
+                "loaders",
+                "probes",
+                "tick p50",
+                "tick p90",
+                "request",
+                "response",
+                "lat p50",
+                "lat p90",
+                "load p50",
+                "premature",
+                "timeouts"
+        );
+
+        for (PageSize pageSize : PAGE_SIZES) {
+            Distribution probes = new Distribution();
+            Distribution tickCosts = new Distribution();
+            Distribution requestSizes = new Distribution();
+            Distribution responseSizes = new Distribution();
+            Distribution latencies = new Distribution();
+            Distribution loadDurations = new Distribution();
+            int premature = 0;
+            int timeouts = 0;
+
+            for (int run = 0; run < RUNS; run++) {
+                driver.get(pageSize.url());
+                driver.findElement(By.id("start_button")).click();
+
+                int[] probesCount = {0};
+                ImprovedPageLoader loader = new ImprovedPageLoader(
+                        driver,
+                        (probe, duration, requestSize, responseSize) -> {
+                            probesCount[0]++;
+                            tickCosts.add(duration / 1_000_000.0);
+                            requestSizes.add(requestSize);
+                            responseSizes.add(responseSize);
+                        }
+                );
+
+                try {
+                    wait.run(pageSize, loader);
+                } catch (TimeoutException ex) {
+                    timeouts++;
+                    continue;
+                }
+
+                probes.add(probesCount[0]);
+
+                double latency = measureDetectionLatency();
+                if (Double.isNaN(latency) || latency < 0) {
+                    premature++;
+                } else {
+                    latencies.add(latency);
+                    loadDurations.add(measureLoadDuration());
+                }
+            }
+
+            int completed = RUNS - timeouts;
+
+            System.out.printf(
+                    "%8d %8d %10.1f %10.1f %10.1f %12.0f %12.0f %10.1f %10.1f %10.1f %9.1f%% %9d%n",
+                    pageSize.nodes(),
+                    pageSize.loaders(),
+                    probes.mean(),
+                    tickCosts.percentile(50),
+                    tickCosts.percentile(90),
+                    requestSizes.mean(),
+                    responseSizes.mean(),
+                    latencies.percentile(50),
+                    latencies.percentile(90),
+                    loadDurations.percentile(50),
+                    completed == 0 ? 0.0 : 100.0 * premature / completed,
+                    timeouts
+            );
+        }
+    }
+
+    /**
+     * Wait of a strategy on the synthetic page.
+     */
+    @FunctionalInterface
+    private interface Wait {
+        void run(PageSize pageSize, ImprovedPageLoader loader);
+    }
+
+    /**
+     * Configuration of the synthetic page.
+     *
+     * @param nodes        number of the generated elements
+     * @param loaders      number of the loading indicators
+     * @param mutationRate number of the elements changed per second
+     *                     while the page is loading
+     * @param depth        max nesting depth of the generated elements
+     */
+    private record PageSize(int nodes, int loaders, int mutationRate, int depth) {
+        String url() {
+            return "http://localhost:8080/PageLoader/SyntheticMethodTest.html"
+                    + "?nodes=" + nodes
+                    + "&loaders=" + loaders
+                    + "&mutationRate=" + mutationRate
+                    + "&depth=" + depth;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WaitByAssetsReadinessTest extends AbstractTestClass {
+
+    @Test
+    public void checkWaitByAssetsReadinessMethod() {
+        driver.get("http://localhost:8080/PageLoader/AssetsMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertDoesNotThrow(() ->
+                pageLoader.waitByAssetsReadiness(By.id("gallery")));
+        assertEquals(true, ((JavascriptExecutor) driver).executeScript(
+                "return Array.from(document.images)"
+                        + ".every(it => it.complete && it.naturalWidth > 0);"
+        ));
+    }
+
+    @Test
+    public void checkNegativeWaitByAssetsReadinessMethod() {
+        driver.get("http://localhost:8080/PageLoader/AssetsMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.waitByAssetsReadiness(
+                        List.of(By.id("gallery")),
+                        500
+                )
+        );
+    }
+
+    @Test
+    public void checkMissingScopeIsNotLoaded() {
+        driver.get("http://localhost:8080/PageLoader/AssetsMethodTest.html");
+
+        assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.waitByAssetsReadiness(
+                        List.of(By.id("gallery"), By.id("missing_gallery")),
+                        500
+                )
+        );
+    }
+}
@@ -8,6 +8,7 @@ import org.openqa.selenium.WebElement;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,4 +64,38 @@ public class WaitByLoadersStatusTest extends AbstractTestClass {
                 )
         );
     }
+
+    @Test
+    public void checkWaitByLoadersStatusMethodOnSyntheticPage() {
+        driver.get("http://localhost:8080/PageLoader/SyntheticMethodTest.html"
+                + "?nodes=10000&loaders=300&mutationRate=200&depth=8");
+
+        assertEquals(10000, driver.findElements(By.className("node")).size());
+
+        driver.findElement(By.id("start_button")).click();
+
+        ArrayList<By> identifiersList = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            identifiersList.add(By.id("loading_text_" + i));
+        }
+
+        assertDoesNotThrow(() ->
+                pageLoader.waitByLoadersStatus(identifiersList));
+        assertTrue(driver.findElement(By.id("loaded_text")).isDisplayed());
+    }
+
+    @Test
+    public void checkCollapsedLoadersAreHidden() {
+        driver.get("http://localhost:8080/PageLoader/SimpleMethodTest.html");
+
+        List<By> identifiersList = List.of(
+                By.id("collapsed_loader"),
+                By.id("clipped_loader")
+        );
+
+        identifiersList.forEach(it ->
+                assertFalse(driver.findElement(it).isDisplayed()));
+        assertDoesNotThrow(() ->
+                pageLoader.waitByLoadersStatus(identifiersList, 500));
+    }
 }
@@ -0,0 +1,53 @@
+package com.ttaaa.pageloader;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WaitByMainThreadIdleTest extends AbstractTestClass {
+
+    @Test
+    public void checkWaitByMainThreadIdleMethod() {
+        driver.get("http://localhost:8080/PageLoader/MainThreadMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        IdleWaitResult result = pageLoader.waitByMainThreadIdle();
+        assertTrue(result.getLongTasksCount() > 0);
+        assertTrue(result.getLongTasksTime() > 0);
+    }
+
+    @Test
+    public void checkNegativeWaitByMainThreadIdleMethod() {
+        driver.get("http://localhost:8080/PageLoader/MainThreadMethodTest.html");
+
+        driver.findElement(By.id("start_button")).click();
+
+        assertThrows(
+                TimeoutException.class,
+                () -> pageLoader.waitByMainThreadIdle(1000, 300)
+        );
+    }
+
+    @Test
+    public void checkWaitByMainThreadIdleMethodWithoutLongTasks() {
+        driver.get("http://localhost:8080/PageLoader/MainThreadMethodTest.html");
+
+        IdleWaitResult result = pageLoader.waitByMainThreadIdle(1000, 300);
+        assertEquals(0, result.getLongTasksCount());
+    }
+
+    @Test
+    public void checkWaitByMainThreadIdleMethodOnIdlePage() {
+        driver.get("http://localhost:8080/PageLoader/MainThreadMethodTest.html");
+
+        ((JavascriptExecutor) driver).executeAsyncScript(
+                "setTimeout(arguments[arguments.length - 1], 500);");
+
+        IdleWaitResult result = pageLoader.waitByMainThreadIdle(1000, 300);
+        assertTrue(result.getWaitingTime() < 300);
+    }
+}
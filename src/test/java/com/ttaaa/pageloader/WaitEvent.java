@@ -0,0 +1,62 @@
+package com.ttaaa.pageloader;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a wait of {@link ImprovedPageLoader}, from
+ * its start to its end.
+ */
+@Name("com.ttaaa.pageloader.Wait")
+@Label("Page Loader Wait")
+@Category("Page Loader")
+@Description("Wait of a page loading strategy")
+final class WaitEvent extends Event {
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Threshold Time")
+    @Timespan(Timespan.MILLISECONDS)
+    long thresholdTime;
+
+    @Label("Outcome")
+    @Description("loaded, timeout or the class of the thrown exception or error")
+    String outcome = "loaded";
+
+    /**
+     * Method to start recording a wait
+     *
+     * @param strategy      name of the waiting strategy
+     * @param thresholdTime max waiting time in milliseconds
+     * @return the started event
+     */
+    static WaitEvent start(String strategy, long thresholdTime) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        event.strategy = strategy;
+        event.thresholdTime = thresholdTime;
+        return event;
+    }
+
+    /**
+     * Method to record the exception or error the wait ended with
+     *
+     * @param exception the thrown exception or error
+     */
+    void fail(Throwable exception) {
+        outcome = exception instanceof org.openqa.selenium.TimeoutException
+                ? "timeout"
+                : exception.getClass().getSimpleName();
+    }
+
+    /**
+     * Method to finish recording the wait
+     */
+    void finish() {
+        if (shouldCommit()) commit();
+    }
+}